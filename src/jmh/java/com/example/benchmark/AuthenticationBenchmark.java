@@ -0,0 +1,55 @@
+package com.example.benchmark;
+
+import com.example.security.AuthenticationProvider;
+import io.micronaut.security.authentication.AuthenticationResponse;
+import io.micronaut.security.authentication.UsernamePasswordCredentials;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end login check: snapshot lookup plus BCrypt (or a credential cache hit when enabled).
+ * unknownUser and invalidCredentials should report about the same time: an account that
+ * does not exist still pays for a dummy hash, so latency does not reveal which names exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private AuthenticationProvider authenticationProvider;
+    private UsernamePasswordCredentials valid;
+    private UsernamePasswordCredentials invalid;
+    private UsernamePasswordCredentials unknown;
+
+    @Setup
+    public void setUp(BenchmarkApplication application) {
+        authenticationProvider = application.getBean(AuthenticationProvider.class);
+        valid = new UsernamePasswordCredentials(BenchmarkApplication.ADMIN_USERNAME, BenchmarkApplication.ADMIN_PASSWORD);
+        invalid = new UsernamePasswordCredentials(BenchmarkApplication.ADMIN_USERNAME, "wrongpassword");
+        unknown = new UsernamePasswordCredentials("ghost", "wrongpassword");
+    }
+
+    @Benchmark
+    public AuthenticationResponse validCredentials() {
+        return authenticate(valid);
+    }
+
+    @Benchmark
+    public AuthenticationResponse invalidCredentials() {
+        return authenticate(invalid);
+    }
+
+    @Benchmark
+    public AuthenticationResponse unknownUser() {
+        return authenticate(unknown);
+    }
+
+    private AuthenticationResponse authenticate(UsernamePasswordCredentials credentials) {
+        return Mono.from(authenticationProvider.authenticate(null, credentials)).block();
+    }
+}
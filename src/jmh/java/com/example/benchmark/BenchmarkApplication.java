@@ -0,0 +1,41 @@
+package com.example.benchmark;
+
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+
+/**
+ * Shared application context on embedded H2, started once per trial. Benchmarks
+ * take it as a {@code @Setup} argument and pull the beans they exercise.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApplication {
+
+    public static final String ADMIN_USERNAME = "admin";
+    public static final String ADMIN_PASSWORD = "admin123";
+
+    private ApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "jpa.default.properties.hibernate.show_sql", false,
+            // Benchmarks log in as one user far faster than any real client may
+            "login-rate-limit.enabled", false));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
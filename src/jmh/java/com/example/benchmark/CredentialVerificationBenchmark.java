@@ -0,0 +1,46 @@
+package com.example.benchmark;
+
+import com.example.security.CredentialCacheConfiguration;
+import com.example.security.VerifiedCredentialCache;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain BCrypt verification versus a verified-credential cache hit for the same secret.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CredentialVerificationBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "password123";
+
+    private String hashedPassword;
+    private VerifiedCredentialCache credentialCache;
+
+    @Setup
+    public void setUp() {
+        hashedPassword = BCrypt.hashpw(PASSWORD, BCrypt.gensalt());
+
+        CredentialCacheConfiguration configuration = new CredentialCacheConfiguration();
+        configuration.setEnabled(true);
+        credentialCache = new VerifiedCredentialCache(configuration);
+        credentialCache.record(1L, USERNAME, hashedPassword, PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptCheck() {
+        return BCrypt.checkpw(PASSWORD, hashedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedCheck() {
+        return credentialCache.matches(USERNAME, hashedPassword, PASSWORD);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.benchmark;
+
+import com.example.execution.ExecutionConfiguration;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Closed-loop load test that keeps a fixed number of requests in flight against the
+ * DB-backed user listing, once per {@code execution.mode}, and prints latency percentiles.
+ * Not a JMH benchmark; run it through the benchmark profile:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.benchmark.ExecutionModeLoadTest \
+ *     -Dbenchmark.args="2000 40000"
+ * </pre>
+ */
+public final class ExecutionModeLoadTest {
+
+    private ExecutionModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : concurrency * 20;
+
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %8s%n",
+            "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (ExecutionConfiguration.Mode mode : ExecutionConfiguration.Mode.values()) {
+            run(mode, concurrency, requests);
+        }
+    }
+
+    private static void run(ExecutionConfiguration.Mode mode, int concurrency, int requests) throws Exception {
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, Map.of(
+                "execution.mode", mode.name(),
+                "micronaut.server.port", -1,
+                "datasources.default.url", "jdbc:h2:mem:load" + mode + ";DB_CLOSE_DELAY=-1",
+                "jpa.default.properties.hibernate.show_sql", false))) {
+            HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+            String token = login(client, server);
+            HttpRequest request = HttpRequest.newBuilder(server.getURI().resolve("/api/users?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+            // Warm up JIT, pools and connections before recording
+            drive(client, request, concurrency, concurrency * 2, new AtomicLongArray(concurrency * 2), new AtomicInteger());
+
+            AtomicLongArray latencies = new AtomicLongArray(requests);
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            drive(client, request, concurrency, requests, latencies, errors);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long[] sorted = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                mode, requests / seconds,
+                millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999),
+                sorted[requests - 1] / 1_000_000.0, errors.get());
+        }
+    }
+
+    private static void drive(HttpClient client, HttpRequest request, int concurrency, int requests,
+                              AtomicLongArray latencies, AtomicInteger errors) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int slot = i;
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latencies.set(slot, System.nanoTime() - sent);
+                    if (error != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    inFlight.release();
+                });
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String login(HttpClient client, EmbeddedServer server) throws Exception {
+        String credentials = "{\"username\":\"" + BenchmarkApplication.ADMIN_USERNAME
+            + "\",\"password\":\"" + BenchmarkApplication.ADMIN_PASSWORD + "\"}";
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(server.getURI().resolve("/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        Map<String, Object> body = server.getApplicationContext().getBean(JsonMapper.class)
+            .readValue(response.body(), Map.class);
+        return (String) body.get("access_token");
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
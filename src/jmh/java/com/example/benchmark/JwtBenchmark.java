@@ -0,0 +1,46 @@
+package com.example.benchmark;
+
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.generator.TokenGenerator;
+import io.micronaut.security.token.validator.TokenValidator;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issuance and validation with the configured HMAC signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private TokenGenerator tokenGenerator;
+    private TokenValidator<Object> tokenValidator;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(BenchmarkApplication application) {
+        tokenGenerator = application.getBean(TokenGenerator.class);
+        tokenValidator = application.getBean(TokenValidator.class);
+        authentication = Authentication.build(BenchmarkApplication.ADMIN_USERNAME, List.of("ROLE_ADMIN"));
+        token = issue();
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokenGenerator.generateToken(authentication, 3600).orElseThrow();
+    }
+
+    @Benchmark
+    public Authentication validate() {
+        return Mono.from(tokenValidator.validateToken(token, null)).block();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.benchmark;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.hibernate.HibernateTransactionManager;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of users with their roles loaded in a read-write versus a read-only transaction.
+ * The query carries no hints, so only the transaction decides whether Hibernate keeps a
+ * snapshot of every entity and dirty-checks it at commit. Run with the GC profiler and
+ * compare gc.alloc.rate.norm. The second-level cache is off so every entity is hydrated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final String PAGE_QUERY = "SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids ORDER BY u.id";
+
+    @Param({"false", "true"})
+    public boolean readOnly;
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ApplicationContext context;
+    private HibernateTransactionManager transactionManager;
+    private TransactionDefinition definition;
+    private List<Long> pageIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", "jdbc:h2:mem:read-only-" + readOnly + "-" + pageSize + ";DB_CLOSE_DELAY=-1",
+            "jpa.default.properties.hibernate.show_sql", false,
+            "jpa.default.properties.hibernate.cache.use_second_level_cache", false,
+            "login-rate-limit.enabled", false));
+        transactionManager = context.getBean(HibernateTransactionManager.class);
+        definition = readOnly ? TransactionDefinition.READ_ONLY : TransactionDefinition.DEFAULT;
+
+        Role userRole = context.getBean(RoleRepository.class).findByName(Role.RoleName.USER).orElseThrow();
+        String passwordHash = BCrypt.hashpw("password123", BCrypt.gensalt(4));
+        List<User> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User("page" + i, "page" + i + "@example.com", passwordHash);
+            user.setRoles(Set.of(userRole));
+            users.add(user);
+        }
+        pageIds = context.getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> loadPage() {
+        return transactionManager.execute(definition, status -> status.getConnection()
+            .createQuery(PAGE_QUERY, User.class)
+            .setParameter("ids", pageIds)
+            .getResultList());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.benchmark;
+
+import com.example.dto.UserRegistrationRequest;
+import com.example.entity.User;
+import com.example.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full signup through {@link UserService#registerUser}: BCrypt plus one insert flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private UserService userService;
+
+    @Setup
+    public void setUp(BenchmarkApplication application) {
+        userService = application.getBean(UserService.class);
+    }
+
+    @Benchmark
+    public User registerUser() {
+        long n = sequence.incrementAndGet();
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername("signup" + n);
+        request.setEmail("signup" + n + "@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Bench");
+        request.setLastName("Mark");
+        return userService.registerUser(request);
+    }
+}
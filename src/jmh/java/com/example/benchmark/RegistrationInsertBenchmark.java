@@ -0,0 +1,69 @@
+package com.example.benchmark;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.UserRepository;
+import com.example.service.RoleRegistry;
+import io.micronaut.context.ApplicationContext;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users persisted per second through the repository, with and without JDBC batching.
+ * A batch size of 1 reproduces the one-statement-per-row profile IDENTITY keys forced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationInsertBenchmark {
+
+    private static final int USERS_PER_INVOCATION = 100;
+
+    @Param({"1", "50"})
+    public String batchSize;
+
+    private ApplicationContext context;
+    private UserRepository userRepository;
+    private Set<Role> roles;
+    private String hashedPassword;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", "jdbc:h2:mem:insertBench" + batchSize + ";DB_CLOSE_DELAY=-1",
+            "jpa.default.properties.hibernate.show_sql", false,
+            "jpa.default.properties.hibernate.jdbc.batch_size", batchSize));
+        userRepository = context.getBean(UserRepository.class);
+        roles = Set.of(context.getBean(RoleRegistry.class).find(Role.RoleName.USER).orElseThrow());
+        // Hash once; this measures the write path, not BCrypt
+        hashedPassword = BCrypt.hashpw("password123", BCrypt.gensalt());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public List<User> saveUsers() {
+        List<User> users = new ArrayList<>(USERS_PER_INVOCATION);
+        for (int i = 0; i < USERS_PER_INVOCATION; i++) {
+            long n = sequence++;
+            User user = new User("bench" + n, "bench" + n + "@example.com", hashedPassword);
+            user.setRoles(roles);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+}
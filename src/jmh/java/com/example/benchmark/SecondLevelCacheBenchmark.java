@@ -0,0 +1,106 @@
+package com.example.benchmark;
+
+import com.example.dto.UserSnapshot;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import com.example.service.UserService;
+import io.micronaut.context.ApplicationContext;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getUserById misses with and without the Hibernate second-level cache, under a Zipfian
+ * key distribution. The principal cache is disabled so every call reaches Hibernate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    @Param({"1.0"})
+    public double skew;
+
+    private ApplicationContext context;
+    private UserService userService;
+    private Long[] sampledIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", "jdbc:h2:mem:l2-" + secondLevelCache + ";DB_CLOSE_DELAY=-1",
+            "jpa.default.properties.hibernate.show_sql", false,
+            "jpa.default.properties.hibernate.cache.use_second_level_cache", secondLevelCache,
+            "user-cache.enabled", false,
+            "login-rate-limit.enabled", false));
+        userService = context.getBean(UserService.class);
+
+        Role userRole = context.getBean(RoleRepository.class).findByName(Role.RoleName.USER).orElseThrow();
+        String passwordHash = BCrypt.hashpw("password123", BCrypt.gensalt(4));
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("zipf" + i, "zipf" + i + "@example.com", passwordHash);
+            user.setRoles(Set.of(userRole));
+            users.add(user);
+        }
+        List<User> saved = context.getBean(UserRepository.class).saveAll(users);
+        sampledIds = zipfianSample(saved);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<UserSnapshot> getUserById(Cursor cursor) {
+        return userService.findSnapshotById(sampledIds[cursor.next()]);
+    }
+
+    // Rank k is drawn with probability proportional to 1 / k^skew, by inverting the CDF
+    private Long[] zipfianSample(List<User> users) {
+        double[] cdf = new double[users.size()];
+        double total = 0;
+        for (int k = 0; k < cdf.length; k++) {
+            total += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = total;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        Long[] ids = new Long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * total);
+            ids[i] = users.get(rank < 0 ? -rank - 1 : rank).getId();
+        }
+        return ids;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        int next() {
+            position = (position + 1) & (SAMPLES - 1);
+            return position;
+        }
+    }
+}
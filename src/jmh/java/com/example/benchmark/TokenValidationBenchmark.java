@@ -0,0 +1,71 @@
+package com.example.benchmark;
+
+import com.example.dto.UserSnapshot;
+import com.example.security.TokenClaims;
+import com.example.service.ReactiveUserService;
+import com.example.service.UserService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.generator.TokenGenerator;
+import io.micronaut.security.token.validator.TokenValidator;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer-token throughput with and without the validated-token cache: validation alone,
+ * and validation plus the claim-driven user lookup behind /api/users/me.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    @Param({"false", "true"})
+    public String tokenCache;
+
+    private ApplicationContext context;
+    private TokenValidator<Object> tokenValidator;
+    private ReactiveUserService userService;
+    private String token;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", "jdbc:h2:mem:tokenBench" + tokenCache + ";DB_CLOSE_DELAY=-1",
+            "jpa.default.properties.hibernate.show_sql", false,
+            "token-cache.enabled", tokenCache));
+        tokenValidator = context.getBean(TokenValidator.class);
+        userService = context.getBean(ReactiveUserService.class);
+        Long adminId = context.getBean(UserService.class)
+            .findByUsername(BenchmarkApplication.ADMIN_USERNAME).orElseThrow().getId();
+        token = context.getBean(TokenGenerator.class).generateToken(
+            Authentication.build(BenchmarkApplication.ADMIN_USERNAME, List.of("ROLE_ADMIN"),
+                TokenClaims.of(adminId, true)), 3600).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication validate() {
+        return Mono.from(tokenValidator.validateToken(token, null)).block();
+    }
+
+    @Benchmark
+    public UserSnapshot currentUser() {
+        return Mono.from(tokenValidator.validateToken(token, null))
+            .flatMap(authentication -> userService.findSnapshotById(TokenClaims.userId(authentication).orElseThrow()))
+            .block();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.dto.UserSnapshot;
+import com.example.entity.User;
+import com.example.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity lookups against H2 versus the cached snapshot path the login and /me use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private UserService userService;
+    private Long adminId;
+
+    @Setup
+    public void setUp(BenchmarkApplication application) {
+        userService = application.getBean(UserService.class);
+        adminId = userService.findByUsername(BenchmarkApplication.ADMIN_USERNAME).orElseThrow().getId();
+    }
+
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userService.findByUsername(BenchmarkApplication.ADMIN_USERNAME);
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userService.findById(adminId);
+    }
+
+    @Benchmark
+    public Optional<UserSnapshot> findSnapshotByUsername() {
+        return userService.findSnapshotByUsername(BenchmarkApplication.ADMIN_USERNAME);
+    }
+
+    @Benchmark
+    public Optional<UserSnapshot> findSnapshotById() {
+        return userService.findSnapshotById(adminId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.benchmark;
+
+import com.example.dto.UserPage;
+import com.example.entity.Role;
+import com.example.repository.RoleRepository;
+import com.example.service.UserSearchField;
+import com.example.service.UserSearchIndex;
+import com.example.service.UserSearchQuery;
+import com.example.service.UserSearchService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.transaction.hibernate.HibernateTransactionManager;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead pages of 10 over a million users, from the database indexes versus the
+ * in-memory index. Rows are seeded with set-based inserts by a first context that keeps
+ * the schema on close, so the measured context's first index rebuild sees every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"false", "true"})
+    public boolean inMemoryIndex;
+
+    @Param({"USERNAME", "LAST_NAME"})
+    public UserSearchField field;
+
+    private ApplicationContext context;
+    private UserSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        String url = "jdbc:h2:mem:user-search-" + inMemoryIndex + "-" + field + ";DB_CLOSE_DELAY=-1";
+        try (ApplicationContext seeding = ApplicationContext.run(Map.of(
+                "datasources.default.url", url,
+                "jpa.default.properties.hibernate.hbm2ddl.auto", "create",
+                "jpa.default.properties.hibernate.show_sql", false,
+                "login-rate-limit.enabled", false))) {
+            seed(seeding);
+        }
+
+        context = ApplicationContext.run(Map.of(
+            "datasources.default.url", url,
+            "jpa.default.properties.hibernate.hbm2ddl.auto", "none",
+            "jpa.default.properties.hibernate.show_sql", false,
+            "login-rate-limit.enabled", false,
+            "user-search.in-memory-index", inMemoryIndex,
+            "user-search.rebuild-interval", "1h",
+            "user-search.rebuild-batch-size", 5000));
+        searchService = context.getBean(UserSearchService.class);
+
+        if (inMemoryIndex) {
+            UserSearchIndex index = context.getBean(UserSearchIndex.class);
+            while (!index.isReady()) {
+                Thread.sleep(500);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPage typeahead() {
+        return searchService.search(new UserSearchQuery(field, nextPrefix(), null, null), null, PAGE_SIZE).block();
+    }
+
+    @Benchmark
+    public UserPage typeaheadEnabledModerators() {
+        return searchService.search(new UserSearchQuery(field, nextPrefix(), Role.RoleName.MODERATOR, true), null,
+            PAGE_SIZE).block();
+    }
+
+    // A few typed characters of a value that exists, e.g. "user417" or "Last123"
+    private String nextPrefix() {
+        int n = ThreadLocalRandom.current().nextInt(USERS);
+        String digits = String.valueOf(field == UserSearchField.USERNAME ? n : n % 20_000);
+        return (field == UserSearchField.USERNAME ? "user" : "Last") + digits.substring(0, Math.min(3, digits.length()));
+    }
+
+    private static void seed(ApplicationContext context) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        long userRoleId = roleRepository.findByName(Role.RoleName.USER).orElseThrow().getId();
+        long moderatorRoleId = roleRepository.findByName(Role.RoleName.MODERATOR).orElseThrow().getId();
+        String passwordHash = BCrypt.hashpw("password123", BCrypt.gensalt(4));
+
+        // Ids well above the sequence so later registrations cannot collide
+        context.getBean(HibernateTransactionManager.class).executeWrite(status -> {
+            status.getConnection().createNativeMutationQuery(
+                    "INSERT INTO users (id, username, email, password, first_name, last_name, enabled, created_at, login_count) "
+                        + "SELECT X + 1000000, 'user' || X, 'user' || X || '@example.com', ?1, "
+                        + "'First' || MOD(X, 5000), 'Last' || MOD(X * 7, 20000), MOD(X, 20) <> 0, CURRENT_TIMESTAMP, 0 "
+                        + "FROM SYSTEM_RANGE(0, ?2)")
+                .setParameter(1, passwordHash)
+                .setParameter(2, USERS - 1)
+                .executeUpdate();
+            status.getConnection().createNativeMutationQuery(
+                    "INSERT INTO user_roles (user_id, role_id) SELECT X + 1000000, ?1 FROM SYSTEM_RANGE(0, ?2)")
+                .setParameter(1, userRoleId)
+                .setParameter(2, USERS - 1)
+                .executeUpdate();
+            status.getConnection().createNativeMutationQuery(
+                    "INSERT INTO user_roles (user_id, role_id) SELECT X + 1000000, ?1 FROM SYSTEM_RANGE(0, ?2) "
+                        + "WHERE MOD(X, 10) = 0")
+                .setParameter(1, moderatorRoleId)
+                .setParameter(2, USERS - 1)
+                .executeUpdate();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.benchmark;
+
+import com.example.dto.UserSnapshot;
+import com.example.entity.Role;
+import com.example.entity.User;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the entity the update endpoint returns and the snapshot the read endpoints return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    private JsonMapper jsonMapper;
+    private User user;
+    private UserSnapshot snapshot;
+
+    @Setup
+    public void setUp(BenchmarkApplication application) {
+        jsonMapper = application.getBean(JsonMapper.class);
+
+        Role role = new Role(Role.RoleName.USER, "Regular user role");
+        role.setId(2L);
+        user = new User("serialized", "serialized@example.com", "$2a$10$abcdefghijklmnopqrstuv");
+        user.setId(1L);
+        user.setFirstName("Serial");
+        user.setLastName("Ized");
+        user.setRoles(Set.of(role));
+        snapshot = UserSnapshot.of(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws IOException {
+        return jsonMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeSnapshot() throws IOException {
+        return jsonMapper.writeValueAsBytes(snapshot);
+    }
+}
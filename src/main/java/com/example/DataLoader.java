@@ -3,14 +3,17 @@ package com.example;
 import com.example.entity.Role;
 import com.example.entity.User;
 import com.example.repository.RoleRepository;
+import com.example.repository.UserNaturalIdRepository;
 import com.example.repository.UserRepository;
+import com.example.security.PasswordHasher;
+import com.example.service.RoleRegistry;
 import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.context.event.StartupEvent;
 import jakarta.inject.Singleton;
-import org.mindrot.jbcrypt.BCrypt;
 
 import jakarta.transaction.Transactional;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Singleton
@@ -18,41 +21,54 @@ public class DataLoader implements ApplicationEventListener<StartupEvent> {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final UserNaturalIdRepository naturalIdRepository;
+    private final PasswordHasher passwordHasher;
+    private final RoleRegistry roleRegistry;
 
-    public DataLoader(RoleRepository roleRepository, UserRepository userRepository) {
+    public DataLoader(RoleRepository roleRepository, UserRepository userRepository,
+                      UserNaturalIdRepository naturalIdRepository, PasswordHasher passwordHasher, RoleRegistry roleRegistry) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
+        this.naturalIdRepository = naturalIdRepository;
+        this.passwordHasher = passwordHasher;
+        this.roleRegistry = roleRegistry;
     }
 
     @Override
     @Transactional
     public void onApplicationEvent(StartupEvent event) {
-        // Create roles if they don't exist
-        createRoleIfNotExists(Role.RoleName.ADMIN, "Administrator role");
-        createRoleIfNotExists(Role.RoleName.USER, "Regular user role");
-        createRoleIfNotExists(Role.RoleName.MODERATOR, "Moderator role");
+        // Create roles if they don't exist, reading the table once
+        Map<Role.RoleName, Role> existing = roleRegistry.refresh();
+        boolean created = createRoleIfNotExists(existing, Role.RoleName.ADMIN, "Administrator role");
+        created |= createRoleIfNotExists(existing, Role.RoleName.USER, "Regular user role");
+        created |= createRoleIfNotExists(existing, Role.RoleName.MODERATOR, "Moderator role");
+        if (created) {
+            roleRegistry.refresh();
+        }
 
         // Create default admin user
-        if (!userRepository.existsByUsername("admin")) {
+        if (!naturalIdRepository.existsByUsername("admin")) {
             User admin = new User();
             admin.setUsername("admin");
             admin.setEmail("admin@example.com");
-            admin.setPassword(BCrypt.hashpw("admin123", BCrypt.gensalt()));
+            admin.setPassword(passwordHasher.hash("admin123"));
             admin.setFirstName("Admin");
             admin.setLastName("User");
 
             Set<Role> adminRoles = new HashSet<>();
-            roleRepository.findByName(Role.RoleName.ADMIN).ifPresent(adminRoles::add);
+            roleRegistry.find(Role.RoleName.ADMIN).ifPresent(adminRoles::add);
             admin.setRoles(adminRoles);
 
             userRepository.save(admin);
         }
     }
 
-    private void createRoleIfNotExists(Role.RoleName roleName, String description) {
-        if (roleRepository.findByName(roleName).isEmpty()) {
-            Role role = new Role(roleName, description);
-            roleRepository.save(role);
+    private boolean createRoleIfNotExists(Map<Role.RoleName, Role> existing, Role.RoleName roleName,
+                                          String description) {
+        if (existing.containsKey(roleName)) {
+            return false;
         }
+        roleRepository.save(new Role(roleName, description));
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.audit;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+import java.time.Duration;
+
+@ConfigurationProperties("audit")
+public class AuditConfiguration {
+
+    public static final String SINK = "audit.sink";
+    public static final String DATABASE = "database";
+    public static final String FILE = "file";
+
+    public enum Overflow {
+        DROP,
+        BLOCK
+    }
+
+    private boolean enabled = true;
+
+    private String sink = DATABASE;
+
+    // Rounded up to a power of two
+    private int bufferSize = 8192;
+
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    private Overflow overflow = Overflow.DROP;
+
+    private String filePath = "logs/audit.log";
+
+    private long maxFileSize = 64L * 1024 * 1024;
+
+    private int maxFiles = 5;
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getSink() { return sink; }
+    public void setSink(String sink) { this.sink = sink; }
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Overflow getOverflow() { return overflow; }
+    public void setOverflow(Overflow overflow) { this.overflow = overflow; }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public long getMaxFileSize() { return maxFileSize; }
+    public void setMaxFileSize(@ReadableBytes long maxFileSize) { this.maxFileSize = maxFileSize; }
+
+    public int getMaxFiles() { return maxFiles; }
+    public void setMaxFiles(int maxFiles) { this.maxFiles = maxFiles; }
+}
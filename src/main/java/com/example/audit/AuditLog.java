@@ -0,0 +1,181 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+import com.example.metrics.Layer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records logins, registrations and profile changes off the request path. Callers copy
+ * the event into an {@link AuditRingBuffer} slot and return; a single writer thread drains
+ * the buffer and hands the {@link AuditSink} a batch every batch-size events or once the
+ * oldest buffered event is flush-interval old. When the buffer is full, events are
+ * dropped or the caller waits, as configured. A batch the sink rejects is retried one
+ * event at a time, so a single bad row costs only itself.
+ */
+@Singleton
+public class AuditLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditLog.class);
+
+    // Both columns are VARCHAR(255)
+    private static final int MAX_USERNAME_LENGTH = 255;
+    private static final int MAX_CLIENT_ADDRESS_LENGTH = 255;
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final boolean enabled;
+    private final boolean blockWhenFull;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long idleParkNanos;
+    private final AuditRingBuffer buffer;
+    private final AuditSink sink;
+
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(AuditConfiguration configuration, AuditSink sink, MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled();
+        this.blockWhenFull = configuration.getOverflow() == AuditConfiguration.Overflow.BLOCK;
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+        this.flushIntervalNanos = Math.max(1, configuration.getFlushInterval().toNanos());
+        this.idleParkNanos = Math.min(flushIntervalNanos, MAX_IDLE_PARK_NANOS);
+        this.buffer = new AuditRingBuffer(configuration.getBufferSize());
+        this.sink = sink;
+
+        this.published = events(meterRegistry, "published");
+        this.dropped = events(meterRegistry, "dropped");
+        this.failed = events(meterRegistry, "failed");
+        this.flushTimer = Timer.builder("audit.flush")
+            .tag(Layer.TAG, Layer.SERVICE)
+            .tag("sink", configuration.getSink())
+            .description("Time to write one audit batch")
+            .register(meterRegistry);
+        Gauge.builder("audit.lag", buffer, AuditRingBuffer::size)
+            .tag(Layer.TAG, Layer.SERVICE)
+            .description("Audit events recorded but not yet handed to the sink")
+            .register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+            .tag(Layer.TAG, Layer.SERVICE)
+            .register(meterRegistry);
+
+        if (enabled) {
+            this.writer = new Thread(this::drain, "audit-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Never touches the database or the file; at worst waits for buffer space when the
+     * overflow policy is {@code BLOCK}.
+     */
+    public void record(AuditEvent.Type type, @Nullable Long userId, @Nullable String username,
+                       @Nullable String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long id = userId == null ? AuditRingBuffer.NO_USER : userId;
+        String name = truncate(username, MAX_USERNAME_LENGTH);
+        String address = truncate(clientAddress, MAX_CLIENT_ADDRESS_LENGTH);
+        while (!buffer.offer(now, type, id, name, address)) {
+            if (!blockWhenFull || !running) {
+                dropped.increment();
+                return;
+            }
+            // The writer frees slots a batch at a time
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        published.increment();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+    }
+
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long oldest = 0;
+        while (running || buffer.size() > 0) {
+            boolean wasEmpty = batch.isEmpty();
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (wasEmpty && drained > 0) {
+                oldest = now;
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && now - oldest >= flushIntervalNanos)) {
+                flush(batch);
+            } else if (drained == 0) {
+                LockSupport.parkNanos(batch.isEmpty()
+                    ? idleParkNanos : Math.min(idleParkNanos, flushIntervalNanos - (now - oldest)));
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        try {
+            flushTimer.record(() -> sink.write(batch));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not write a batch of {} audit events, retrying them one by one", batch.size(), e);
+            for (AuditEvent event : batch) {
+                writeAlone(event);
+            }
+        }
+        batch.clear();
+    }
+
+    // Audit must never take the application down; the loss shows up in audit.events{result=failed}
+    private void writeAlone(AuditEvent event) {
+        // An id assigned during the rolled-back batch would make the retry look like an update
+        event.setId(null);
+        try {
+            flushTimer.record(() -> sink.write(List.of(event)));
+        } catch (RuntimeException e) {
+            failed.increment();
+            LOG.warn("Dropped audit event {} for user {} ({}) at {}", event.getType(), event.getUserId(),
+                event.getUsername(), event.getOccurredAt(), e);
+        }
+    }
+
+    private static String truncate(@Nullable String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.events")
+            .tag(Layer.TAG, Layer.SERVICE)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
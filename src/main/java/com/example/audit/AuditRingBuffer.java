@@ -0,0 +1,112 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer queue over preallocated slot arrays, with one
+ * sequence number per slot (Vyukov). A producer claims a position with a CAS on the tail,
+ * copies its fields into the slot and publishes it with a release store of the sequence,
+ * so offering takes no lock and allocates nothing. Only the consumer moves the head.
+ */
+final class AuditRingBuffer {
+
+    // User ids start at 1, so 0 marks an event without one
+    static final long NO_USER = 0L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final AuditEvent.Type[] types;
+    private final long[] userIds;
+    private final String[] usernames;
+    private final String[] clientAddresses;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int size = 2;
+        while (size < requestedCapacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.timestamps = new long[size];
+        this.types = new AuditEvent.Type[size];
+        this.userIds = new long[size];
+        this.usernames = new String[size];
+        this.clientAddresses = new String[size];
+    }
+
+    /**
+     * @return false if every slot is still waiting for the consumer
+     */
+    boolean offer(long timestamp, AuditEvent.Type type, long userId, String username, String clientAddress) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[index] = timestamp;
+                    types[index] = type;
+                    userIds[index] = userId;
+                    usernames[index] = username;
+                    clientAddresses[index] = clientAddress;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // Slot not yet released from the previous lap
+                return false;
+            }
+            // Otherwise another producer took this position first
+        }
+    }
+
+    /**
+     * Moves up to {@code limit} published events into {@code batch}, stopping at the first
+     * slot a producer has claimed but not yet filled. Consumer thread only.
+     */
+    int drainTo(List<AuditEvent> batch, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            long userId = userIds[index];
+            batch.add(new AuditEvent(types[index], userId == NO_USER ? null : userId,
+                usernames[index], clientAddresses[index], Instant.ofEpochMilli(timestamps[index])));
+            // Don't keep strings reachable for a whole lap
+            types[index] = null;
+            usernames[index] = null;
+            clientAddresses[index] = null;
+            sequences.setRelease(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    // Claimed but not yet drained, including slots still being filled
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Destination of audit batches. Only the audit writer thread calls it, one batch at a time.
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> events);
+}
@@ -0,0 +1,29 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+import com.example.repository.AuditEventRepository;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Inserts each batch into {@code audit_events} in one transaction; pooled ids let
+ * Hibernate send it as JDBC batches.
+ */
+@Singleton
+@Requires(property = AuditConfiguration.SINK, value = AuditConfiguration.DATABASE,
+    defaultValue = AuditConfiguration.DATABASE)
+public class DatabaseAuditSink implements AuditSink {
+
+    private final AuditEventRepository auditEventRepository;
+
+    public DatabaseAuditSink(AuditEventRepository auditEventRepository) {
+        this.auditEventRepository = auditEventRepository;
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        auditEventRepository.saveAll(events);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+import io.micronaut.context.annotation.Requires;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one tab-separated line per event to a local file, rolling it over to
+ * {@code .1} to {@code .N} once it passes the configured size. For deployments that
+ * ship logs instead of keeping audit rows in the user database.
+ */
+@Singleton
+@Requires(property = AuditConfiguration.SINK, value = AuditConfiguration.FILE)
+public class FileAuditSink implements AuditSink {
+
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    private Writer writer;
+    private long size;
+
+    public FileAuditSink(AuditConfiguration configuration) {
+        this.path = Path.of(configuration.getFilePath());
+        this.maxFileSize = Math.max(1, configuration.getMaxFileSize());
+        this.maxFiles = Math.max(1, configuration.getMaxFiles());
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        try {
+            if (writer == null) {
+                open();
+            }
+            StringBuilder lines = new StringBuilder(events.size() * 96);
+            for (AuditEvent event : events) {
+                lines.append(event.getOccurredAt()).append('\t')
+                    .append(event.getType()).append('\t')
+                    .append(event.getUserId() == null ? "-" : event.getUserId()).append('\t');
+                appendEscaped(lines, event.getUsername()).append('\t');
+                appendEscaped(lines, event.getClientAddress()).append('\n');
+            }
+            writer.write(lines.toString());
+            writer.flush();
+            size += lines.length();
+            if (size >= maxFileSize) {
+                rollOver();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(path);
+    }
+
+    private void rollOver() throws IOException {
+        close();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = rolled(i);
+            if (Files.exists(older)) {
+                Files.move(older, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    // Usernames of failed logins are whatever the client sent; keep them on one line
+    private static StringBuilder appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append('-');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\\' -> out.append("\\\\");
+                default -> out.append(c);
+            }
+        }
+        return out;
+    }
+}
@@ -1,13 +1,25 @@
 package com.example.controller;
 
+import com.example.audit.AuditLog;
 import com.example.dto.UserLoginRequest;
 import com.example.dto.UserRegistrationRequest;
+import com.example.entity.AuditEvent;
 import com.example.entity.User;
+import com.example.execution.AdmissionRejectedException;
+import com.example.execution.RequestExecutorFactory;
+import com.example.security.PasswordHashingRejectedException;
+import com.example.service.DuplicateUserException;
 import com.example.service.UserService;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.micronaut.validation.Validated;
@@ -15,21 +27,35 @@ import io.micronaut.validation.Validated;
 import jakarta.validation.Valid;
 
 @Controller("/auth")
+@ExecuteOn(RequestExecutorFactory.REQUEST)
 @Validated
 @Secured(SecurityRule.IS_ANONYMOUS)
 public class AuthController {
 
     private final UserService userService;
+    private final AuditLog auditLog;
+    private final HttpClientAddressResolver clientAddressResolver;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, AuditLog auditLog,
+                          HttpClientAddressResolver clientAddressResolver) {
         this.userService = userService;
+        this.auditLog = auditLog;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     @Post("/register")
-    public HttpResponse<User> register(@Body @Valid UserRegistrationRequest request) {
+    public HttpResponse<?> register(HttpRequest<?> httpRequest, @Body @Valid UserRegistrationRequest request) {
+        String clientAddress = clientAddressResolver.resolve(httpRequest);
         try {
             User user = userService.registerUser(request);
+            auditLog.record(AuditEvent.Type.REGISTERED, user.getId(), user.getUsername(), clientAddress);
             return HttpResponse.created(user);
+        } catch (DuplicateUserException e) {
+            auditLog.record(AuditEvent.Type.REGISTRATION_REJECTED, null, request.getUsername(), clientAddress);
+            return HttpResponse.status(HttpStatus.CONFLICT).body(new JsonError(e.getMessage()));
+        } catch (PasswordHashingRejectedException | AdmissionRejectedException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1");
         } catch (RuntimeException e) {
             return HttpResponse.badRequest();
         }
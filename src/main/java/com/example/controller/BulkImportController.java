@@ -0,0 +1,94 @@
+package com.example.controller;
+
+import com.example.dto.BulkImportSummary;
+import com.example.execution.RequestExecutorFactory;
+import com.example.service.BulkUserImporter;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import jakarta.inject.Named;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+@Controller("/api/admin/users")
+@ExecuteOn(RequestExecutorFactory.REQUEST)
+@Secured("ROLE_ADMIN")
+public class BulkImportController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private final BulkUserImporter importer;
+    private final JsonMapper jsonMapper;
+    private final ExecutorService requestExecutor;
+
+    public BulkImportController(BulkUserImporter importer, JsonMapper jsonMapper,
+                                @Named(RequestExecutorFactory.REQUEST) ExecutorService requestExecutor) {
+        this.importer = importer;
+        this.jsonMapper = jsonMapper;
+        this.requestExecutor = requestExecutor;
+    }
+
+    // One NDJSON result line per input row as its chunk completes, then a BulkImportSummary line
+    @Post("/import")
+    @Consumes({Ndjson.MEDIA_TYPE, TEXT_CSV})
+    @Produces(Ndjson.MEDIA_TYPE)
+    public Publisher<byte[]> importUsers(HttpRequest<?> request, @Body InputStream body) {
+        BulkUserImporter.Format format = request.getContentType()
+            .filter(type -> type.matches(MediaType.of(TEXT_CSV)))
+            .map(type -> BulkUserImporter.Format.CSV)
+            .orElse(BulkUserImporter.Format.NDJSON);
+
+        // Rows are read only as fast as the client drains results, and a disconnect stops the import
+        return Flux.<byte[]>create(sink -> {
+            Object demand = new Object();
+            sink.onRequest(n -> signal(demand));
+            sink.onCancel(() -> signal(demand));
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                BulkImportSummary summary = importer.importUsers(reader, format,
+                    result -> emit(sink, demand, Ndjson.line(jsonMapper, result)), sink::isCancelled);
+                emit(sink, demand, Ndjson.line(jsonMapper, summary));
+                sink.complete();
+            } catch (Exception e) {
+                sink.error(e);
+            }
+        }, FluxSink.OverflowStrategy.ERROR).subscribeOn(Schedulers.fromExecutorService(requestExecutor));
+    }
+
+    // Blocks the importing thread until the client has asked for another line
+    private static void emit(FluxSink<byte[]> sink, Object demand, byte[] line) {
+        synchronized (demand) {
+            while (sink.requestedFromDownstream() == 0 && !sink.isCancelled()) {
+                try {
+                    demand.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for demand", e);
+                }
+            }
+        }
+        if (!sink.isCancelled()) {
+            sink.next(line);
+        }
+    }
+
+    private static void signal(Object demand) {
+        synchronized (demand) {
+            demand.notifyAll();
+        }
+    }
+}
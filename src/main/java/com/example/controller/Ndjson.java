@@ -0,0 +1,26 @@
+package com.example.controller;
+
+import io.micronaut.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+final class Ndjson {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private Ndjson() {
+    }
+
+    static byte[] line(JsonMapper jsonMapper, Object value) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(value);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,61 +1,112 @@
 package com.example.controller;
 
-import com.example.entity.User;
-import com.example.service.UserService;
+import com.example.dto.UserPage;
+import com.example.dto.UserSnapshot;
+import com.example.dto.UserUpdateRequest;
+import com.example.entity.Role;
+import com.example.security.TokenClaims;
+import com.example.service.ReactiveUserService;
+import com.example.service.UserNotFoundException;
+import com.example.service.UserSearchField;
+import com.example.service.UserSearchQuery;
+import com.example.service.UserSearchService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
-import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
+import io.micronaut.json.JsonMapper;
 import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.authentication.Authentication;
 import org.reactivestreams.Publisher;
-
-import java.security.Principal;
+import reactor.core.publisher.Mono;
 
 @Controller("/api/users")
 public class UserController {
 
-    private final UserService userService;
+    private final ReactiveUserService userService;
+    private final UserSearchService searchService;
+    private final JsonMapper jsonMapper;
 
-    public UserController(UserService userService) {
+    public UserController(ReactiveUserService userService, UserSearchService searchService, JsonMapper jsonMapper) {
         this.userService = userService;
+        this.searchService = searchService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Get
+    @Produces(MediaType.APPLICATION_JSON)
+    @Secured("ROLE_ADMIN")
+    public Mono<HttpResponse<UserPage>> getAllUsers(@Nullable @QueryValue String cursor,
+                                                    @Nullable @QueryValue Integer limit) {
+        return userService.findUserPage(cursor, limit)
+            .<HttpResponse<UserPage>>map(HttpResponse::ok)
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(HttpResponse.badRequest()));
     }
 
     @Get
+    @Produces(Ndjson.MEDIA_TYPE)
+    @Secured("ROLE_ADMIN")
+    public Publisher<byte[]> streamAllUsers(@Nullable @QueryValue String cursor,
+                                            @Nullable @QueryValue Integer limit) {
+        // Pull one keyset page at a time as the client drains the response, so memory stays flat
+        return userService.findUserPage(cursor, limit)
+            .expand(page -> page.nextCursor() == null
+                ? Mono.empty()
+                : userService.findUserPage(page.nextCursor(), limit))
+            .concatMapIterable(UserPage::items, 1)
+            .map(user -> Ndjson.line(jsonMapper, user));
+    }
+
+    // Typeahead: ?q=jo&field=firstName&role=ADMIN&enabled=true, paged with the returned cursor
+    @Get("/search")
+    @Produces(MediaType.APPLICATION_JSON)
     @Secured("ROLE_ADMIN")
-    public MutableHttpResponse<Iterable<? extends Publisher<?>>> getAllUsers() {
-        return null;
+    public Mono<HttpResponse<UserPage>> searchUsers(@Nullable @QueryValue String q,
+                                                    @Nullable @QueryValue String field,
+                                                    @Nullable @QueryValue Role.RoleName role,
+                                                    @Nullable @QueryValue Boolean enabled,
+                                                    @Nullable @QueryValue String cursor,
+                                                    @Nullable @QueryValue Integer limit) {
+        return Mono.defer(() -> {
+                UserSearchField searchField = field == null ? UserSearchField.USERNAME : UserSearchField.parse(field);
+                return searchService.search(new UserSearchQuery(searchField, q, role, enabled), cursor, limit);
+            })
+            .<HttpResponse<UserPage>>map(HttpResponse::ok)
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(HttpResponse.badRequest()));
     }
 
     @Get("/me")
     @Secured({"ROLE_USER", "ROLE_ADMIN"})
-    public HttpResponse<User> getCurrentUser(Principal principal) {
-        return userService.findByUsername(principal.getName())
-            .map(HttpResponse::ok)
-            .orElse(HttpResponse.notFound());
+    public Mono<HttpResponse<UserSnapshot>> getCurrentUser(Authentication authentication) {
+        // Tokens carry the user id, which the principal cache answers without a query
+        Mono<UserSnapshot> user = TokenClaims.userId(authentication)
+            .map(userService::findSnapshotById)
+            .orElseGet(() -> userService.findSnapshotByUsername(authentication.getName()));
+        return user
+            .<HttpResponse<UserSnapshot>>map(HttpResponse::ok)
+            .defaultIfEmpty(HttpResponse.notFound());
     }
 
     @Get("/{id}")
     @Secured("ROLE_ADMIN")
-    public HttpResponse<User> getUserById(@PathVariable Long id) {
-        return userService.findById(id)
-            .map(HttpResponse::ok)
-            .orElse(HttpResponse.notFound());
+    public Mono<HttpResponse<UserSnapshot>> getUserById(@PathVariable Long id) {
+        return userService.findSnapshotById(id)
+            .<HttpResponse<UserSnapshot>>map(HttpResponse::ok)
+            .defaultIfEmpty(HttpResponse.notFound());
     }
 
     @Put("/{id}")
     @Secured("ROLE_ADMIN")
-    public HttpResponse<User> updateUser(@PathVariable Long id, @Body User user) {
-        try {
-            User updatedUser = userService.updateUser(id, user);
-            return HttpResponse.ok(updatedUser);
-        } catch (RuntimeException e) {
-            return HttpResponse.notFound();
-        }
+    public Mono<HttpResponse<UserSnapshot>> updateUser(@PathVariable Long id, @Body UserUpdateRequest update) {
+        return userService.updateUser(id, update)
+            .<HttpResponse<UserSnapshot>>map(HttpResponse::ok)
+            .onErrorResume(UserNotFoundException.class, e -> Mono.just(HttpResponse.notFound()));
     }
 
     @Delete("/{id}")
     @Secured("ROLE_ADMIN")
-    public HttpResponse<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        return HttpResponse.noContent();
+    public Mono<HttpResponse<Void>> deleteUser(@PathVariable Long id) {
+        return userService.deleteUser(id)
+            .thenReturn(HttpResponse.<Void>noContent());
     }
-}
\ No newline at end of file
+}
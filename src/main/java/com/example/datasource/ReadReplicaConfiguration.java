@@ -0,0 +1,64 @@
+package com.example.datasource;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("read-replicas")
+public class ReadReplicaConfiguration {
+
+    public static final String ENABLED = "read-replicas.enabled";
+
+    public enum Balancing { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    private boolean enabled = false;
+
+    // One Hikari pool per URL; all replicas share the credentials below
+    private List<String> urls = List.of();
+
+    @Nullable
+    private String driverClassName;
+
+    private String username = "sa";
+
+    private String password = "";
+
+    private int maximumPoolSize = 10;
+
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+
+    // Reads of a user written within this long go to the primary; keep above the replication lag
+    private Duration stickinessWindow = Duration.ofSeconds(5);
+
+    private long maxStickyKeys = 100_000;
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+
+    public @Nullable String getDriverClassName() { return driverClassName; }
+    public void setDriverClassName(@Nullable String driverClassName) { this.driverClassName = driverClassName; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public Balancing getBalancing() { return balancing; }
+    public void setBalancing(Balancing balancing) { this.balancing = balancing; }
+
+    public Duration getStickinessWindow() { return stickinessWindow; }
+    public void setStickinessWindow(Duration stickinessWindow) { this.stickinessWindow = stickinessWindow; }
+
+    public long getMaxStickyKeys() { return maxStickyKeys; }
+    public void setMaxStickyKeys(long maxStickyKeys) { this.maxStickyKeys = maxStickyKeys; }
+}
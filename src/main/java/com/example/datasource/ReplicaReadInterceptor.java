@@ -0,0 +1,54 @@
+package com.example.datasource;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.transaction.annotation.ReadOnly;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+
+/**
+ * Routes the transaction a {@link ReplicaReads} method opens. Runs just outside the
+ * transaction interceptor, so the route is bound before the connection is taken.
+ * Read-only transactions go to a replica unless an argument names a recently written
+ * user; every other transaction, and everything nested in it, stays on the primary.
+ */
+@Singleton
+@InterceptorBean(ReplicaReads.class)
+public class ReplicaReadInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final ReplicaRouting routing;
+
+    public ReplicaReadInterceptor(ReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 1;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        // Nested calls join the outer transaction and its connection. @ReadOnly carries
+        // @Transactional as a meta-annotation, which only the stereotype lookup sees
+        if (!routing.isEnabled() || routing.current() != null || !context.hasStereotype(Transactional.class)) {
+            return context.proceed();
+        }
+        ReplicaRouting.Route route = readOnly(context)
+            ? routing.routeRead(context.getParameterValues())
+            : ReplicaRouting.Route.PRIMARY;
+        ReplicaRouting.Route previous = routing.bind(route);
+        try {
+            return context.proceed();
+        } finally {
+            routing.restore(previous);
+        }
+    }
+
+    private static boolean readOnly(MethodInvocationContext<Object, Object> context) {
+        return context.hasStereotype(ReadOnly.class)
+            || context.booleanValue(Transactional.class, "readOnly").orElse(false);
+    }
+}
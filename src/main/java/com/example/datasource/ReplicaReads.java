@@ -0,0 +1,21 @@
+package com.example.datasource;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets read-only transactions started by the annotated code run on a read replica.
+ * {@link ReplicaReadInterceptor} decides the route before the transaction opens; calls
+ * that join an existing transaction keep its route.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface ReplicaReads {
+}
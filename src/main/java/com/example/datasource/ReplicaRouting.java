@@ -0,0 +1,116 @@
+package com.example.datasource;
+
+import com.example.metrics.Layer;
+import com.example.service.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which database the current thread's transaction uses, and which users were written
+ * recently enough that a replica may not have their change yet. Recent writes are keyed
+ * by user id and username and expire after the stickiness window.
+ */
+@Singleton
+public class ReplicaRouting {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final boolean enabled;
+    private final ThreadLocal<Route> current = new ThreadLocal<>();
+    private final Cache<Object, Boolean> recentWrites;
+
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+
+    @Inject
+    public ReplicaRouting(ReadReplicaConfiguration configuration, MeterRegistry meterRegistry) {
+        this(configuration, Clock.systemUTC(), meterRegistry);
+    }
+
+    ReplicaRouting(ReadReplicaConfiguration configuration, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled() && !configuration.getUrls().isEmpty();
+        this.recentWrites = Caffeine.newBuilder()
+            .maximumSize(configuration.getMaxStickyKeys())
+            .expireAfterWrite(configuration.getStickinessWindow())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .build();
+        this.replicaReads = reads(meterRegistry, "replica");
+        this.stickyReads = reads(meterRegistry, "sticky");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Null outside any routed call: the connection comes from the primary
+    public @Nullable Route current() {
+        return current.get();
+    }
+
+    /**
+     * Binds a route to this thread.
+     *
+     * @return the route to hand back to {@link #restore}
+     */
+    public @Nullable Route bind(Route route) {
+        Route previous = current.get();
+        current.set(route);
+        return previous;
+    }
+
+    public void restore(@Nullable Route previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    // Picks the route for a read-only transaction about the given user ids or usernames
+    public Route routeRead(Object[] keys) {
+        for (Object key : keys) {
+            if ((key instanceof Long || key instanceof String) && recentWrites.getIfPresent(key) != null) {
+                stickyReads.increment();
+                return Route.PRIMARY;
+            }
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+
+    public void recordWrite(@Nullable Long id, @Nullable String username) {
+        if (!enabled) {
+            return;
+        }
+        if (id != null) {
+            recentWrites.put(id, Boolean.TRUE);
+        }
+        if (username != null) {
+            recentWrites.put(username, Boolean.TRUE);
+        }
+    }
+
+    // Writers record their keys when they write; this restarts the window at commit, when the
+    // change begins replicating
+    @TransactionalEventListener(TransactionalEventListener.TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        recordWrite(event.id(), event.username());
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.reads")
+            .tag(Layer.TAG, Layer.DB)
+            .tag("route", route)
+            .description("Read-only transactions by the database they were routed to")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.configuration.hibernate.jpa.conf.serviceregistry.builder.configures.StandardServiceRegistryBuilderConfigurer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jdbc.DataSourceResolver;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives the default persistence unit a {@link RoutingDataSource} over the
+ * {@code datasources.default} pool and one Hikari pool per replica URL. The replica pools
+ * are built here rather than as {@code datasources.*} entries so Micronaut does not create
+ * a session factory and transaction manager for each of them.
+ */
+@Singleton
+@Requires(property = ReadReplicaConfiguration.ENABLED, value = "true")
+public class ReplicaRoutingConfigurer implements StandardServiceRegistryBuilderConfigurer {
+
+    private static final String DEFAULT = "default";
+
+    private final RoutingDataSource routingDataSource;
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    public ReplicaRoutingConfigurer(ReadReplicaConfiguration configuration, @Named(DEFAULT) DataSource primary,
+                                    @Nullable DataSourceResolver dataSourceResolver, ReplicaRouting routing,
+                                    MeterRegistry meterRegistry) {
+        DataSourceResolver resolver = dataSourceResolver == null ? DataSourceResolver.DEFAULT : dataSourceResolver;
+        List<String> urls = configuration.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(new HikariDataSource(replicaPool(configuration, urls.get(i), i, meterRegistry)));
+        }
+        this.routingDataSource = new RoutingDataSource(resolver.resolve(primary), List.copyOf(replicas),
+            configuration.getBalancing(), routing);
+    }
+
+    // Runs after the built-in settings configurer so this data source replaces the primary one
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void configure(JpaConfiguration jpaConfiguration, StandardServiceRegistryBuilder builder) {
+        if (DEFAULT.equals(jpaConfiguration.getName())) {
+            builder.applySetting(AvailableSettings.DATASOURCE, routingDataSource);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private static HikariConfig replicaPool(ReadReplicaConfiguration configuration, String url, int index,
+                                            MeterRegistry meterRegistry) {
+        HikariConfig pool = new HikariConfig();
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(url);
+        if (configuration.getDriverClassName() != null) {
+            pool.setDriverClassName(configuration.getDriverClassName());
+        }
+        pool.setUsername(configuration.getUsername());
+        pool.setPassword(configuration.getPassword());
+        pool.setMaximumPoolSize(configuration.getMaximumPoolSize());
+        pool.setReadOnly(true);
+        // Same hikaricp.* gauges as the primary, tagged with the pool name
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The data source Hibernate sees. Hands out a replica connection while the current
+ * thread is routed to {@link ReplicaRouting.Route#REPLICA} and a primary connection
+ * otherwise. A replica that cannot supply a connection is skipped for the primary, so
+ * a replica outage degrades into primary load rather than failed reads.
+ */
+public class RoutingDataSource implements DataSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadReplicaConfiguration.Balancing balancing;
+    private final ReplicaRouting routing;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public RoutingDataSource(DataSource primary, List<DataSource> replicas,
+                             ReadReplicaConfiguration.Balancing balancing, ReplicaRouting routing) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routedToReplica()) {
+            DataSource replica = pick();
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                LOG.warn("Read replica unavailable, reading from the primary: {}", e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routedToReplica()) {
+            DataSource replica = pick();
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                LOG.warn("Read replica unavailable, reading from the primary: {}", e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    DataSource pick() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (balancing == ReadReplicaConfiguration.Balancing.ROUND_ROBIN || replicas.size() == 1) {
+            return replicas.get(start);
+        }
+        // Least connections, scanning from the round-robin position so ties still rotate
+        DataSource least = replicas.get(start);
+        int leastActive = activeConnections(least);
+        for (int i = 1; i < replicas.size() && leastActive > 0; i++) {
+            DataSource candidate = replicas.get((start + i) % replicas.size());
+            int active = activeConnections(candidate);
+            if (active < leastActive) {
+                least = candidate;
+                leastActive = active;
+            }
+        }
+        return least;
+    }
+
+    private boolean routedToReplica() {
+        return routing.current() == ReplicaRouting.Route.REPLICA && !replicas.isEmpty();
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.dto;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record BulkImportResult(long line, @Nullable String username, Status status, @Nullable String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
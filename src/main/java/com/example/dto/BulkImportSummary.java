@@ -0,0 +1,13 @@
+package com.example.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record BulkImportSummary(long total,
+                                long created,
+                                long duplicates,
+                                long invalid,
+                                long failed,
+                                long elapsedMillis,
+                                double usersPerSecond) {
+}
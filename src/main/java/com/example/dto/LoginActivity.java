@@ -0,0 +1,9 @@
+package com.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Logins of one user coalesced since the previous flush.
+ */
+public record LoginActivity(Long userId, long logins, LocalDateTime lastLoginAt) {
+}
@@ -0,0 +1,10 @@
+package com.example.dto;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record UserPage(List<UserSnapshot> items, @Nullable String nextCursor) {
+}
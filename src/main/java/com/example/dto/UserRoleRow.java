@@ -0,0 +1,23 @@
+package com.example.dto;
+
+import com.example.entity.Role;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a user joined to one of its roles (one row per role, or a single
+ * row with a null role). Lets lookups build a {@link UserSnapshot} without hydrating entities.
+ */
+@Introspected
+public record UserRoleRow(Long id,
+                          String username,
+                          String email,
+                          String firstName,
+                          String lastName,
+                          boolean enabled,
+                          LocalDateTime createdAt,
+                          String password,
+                          @Nullable Role.RoleName roleName) {
+}
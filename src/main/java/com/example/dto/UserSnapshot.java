@@ -0,0 +1,82 @@
+package com.example.dto;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Serdeable
+public record UserSnapshot(Long id,
+                           String username,
+                           String email,
+                           String firstName,
+                           String lastName,
+                           boolean enabled,
+                           LocalDateTime createdAt,
+                           Set<Role.RoleName> roles,
+                           @JsonIgnore String passwordHash) {
+
+    public UserSnapshot {
+        roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public static UserSnapshot of(User user) {
+        Set<Role.RoleName> roles = EnumSet.noneOf(Role.RoleName.class);
+        for (Role role : user.getRoles()) {
+            roles.add(role.getName());
+        }
+        return new UserSnapshot(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.isEnabled(),
+            user.getCreatedAt(),
+            roles,
+            user.getPassword());
+    }
+
+    public static Optional<UserSnapshot> fromRows(List<UserRoleRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<Role.RoleName> roles = EnumSet.noneOf(Role.RoleName.class);
+        for (UserRoleRow row : rows) {
+            if (row.roleName() != null) {
+                roles.add(row.roleName());
+            }
+        }
+        UserRoleRow row = rows.get(0);
+        return Optional.of(new UserSnapshot(
+            row.id(),
+            row.username(),
+            row.email(),
+            row.firstName(),
+            row.lastName(),
+            row.enabled(),
+            row.createdAt(),
+            roles,
+            row.password()));
+    }
+
+    // Rows must be ordered by user id, as a keyset page query returns them
+    public static List<UserSnapshot> fromPageRows(List<UserRoleRow> rows) {
+        List<UserSnapshot> snapshots = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i == rows.size() || !rows.get(i).id().equals(rows.get(start).id())) {
+                fromRows(rows.subList(start, i)).ifPresent(snapshots::add);
+                start = i;
+            }
+        }
+        return snapshots;
+    }
+}
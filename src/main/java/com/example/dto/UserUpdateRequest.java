@@ -0,0 +1,38 @@
+package com.example.dto;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import jakarta.validation.constraints.Email;
+
+@Introspected
+@Serdeable
+public class UserUpdateRequest {
+
+    @Email
+    private String email;
+
+    private String firstName;
+    private String lastName;
+
+    // Absent leaves the account as it is; only an explicit false disables it
+    @Nullable
+    private Boolean enabled;
+
+    // Constructors
+    public UserUpdateRequest() {}
+
+    // Getters and Setters
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public @Nullable Boolean getEnabled() { return enabled; }
+    public void setEnabled(@Nullable Boolean enabled) { this.enabled = enabled; }
+}
@@ -0,0 +1,70 @@
+package com.example.entity;
+
+import io.micronaut.core.annotation.Introspected;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_occurred_at", columnList = "occurred_at"),
+        @Index(name = "idx_audit_events_user_id", columnList = "user_id")
+})
+@Introspected
+public class AuditEvent {
+
+    // Written only in batches by the audit writer, so ids are reserved a whole batch at a time
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_events_seq")
+    @SequenceGenerator(name = "audit_events_seq", sequenceName = "audit_events_seq", allocationSize = 500)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String username;
+
+    @Column(name = "client_address")
+    private String clientAddress;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // Constructors
+    public AuditEvent() {}
+
+    public AuditEvent(Type type, Long userId, String username, String clientAddress, Instant occurredAt) {
+        this.type = type;
+        this.userId = userId;
+        this.username = username;
+        this.clientAddress = clientAddress;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getClientAddress() { return clientAddress; }
+    public void setClientAddress(String clientAddress) { this.clientAddress = clientAddress; }
+
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+
+    public enum Type {
+        LOGIN_SUCCEEDED, LOGIN_FAILED, LOGIN_THROTTLED, REGISTERED, REGISTRATION_REJECTED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.entity;
+
+import java.util.List;
+
+/**
+ * Second-level cache region names. Each must have a matching block in
+ * {@code hibernate-cache.conf}, which is where the regions are bounded.
+ */
+public final class CacheRegions {
+
+    public static final String ROLES = "roles";
+    public static final String USERS = "users";
+    public static final String USER_ROLES = "user-roles";
+    public static final String USER_NATURAL_IDS = "user-natural-ids";
+
+    public static final List<String> ALL = List.of(ROLES, USERS, USER_ROLES, USER_NATURAL_IDS);
+
+    private CacheRegions() {
+    }
+}
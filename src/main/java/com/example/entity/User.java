@@ -3,6 +3,10 @@ package com.example.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -13,23 +17,38 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        // Named so duplicate-key errors can be mapped back to the offending field
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+}, indexes = {
+        // Admin search: each prefix range scan comes back in (column, id) keyset order. Username and
+        // email use their unique indexes, which InnoDB already suffixes with the primary key
+        @Index(name = "idx_users_first_name_id", columnList = "first_name, id"),
+        @Index(name = "idx_users_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_users_enabled_username_id", columnList = "enabled, username, id")
+})
 @Introspected
 @Serdeable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
+@NaturalIdCache(region = CacheRegions.USER_NATURAL_IDS)
 public class User {
 
+    // Pooled ids (a sequence on H2, an emulating table on MySQL) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
+    // Immutable once registered, which is what lets Hibernate cache the username -> id resolution
+    @NaturalId
     @NotBlank
     @Size(min = 3, max = 50)
-    @Column(unique = true)
     private String username;
 
     @NotBlank
     @Email
-    @Column(unique = true)
     private String email;
 
     @NotBlank
@@ -48,11 +67,22 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Written only by the login activity flush, so entity updates never overwrite newer values
+    @Column(name = "last_login_at", updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(name = "login_count", nullable = false, updatable = false)
+    private long loginCount;
+
+    // Cached as role ids; the roles themselves come from their own region
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLES)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "role_id")
+            inverseJoinColumns = @JoinColumn(name = "role_id"),
+            // Role-filtered search probes by role for each candidate user
+            indexes = @Index(name = "idx_user_roles_role_user", columnList = "role_id, user_id")
     )
     private Set<Role> roles = new HashSet<>();
 
@@ -90,6 +120,12 @@ public class User {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getLastLoginAt() { return lastLoginAt; }
+    public void setLastLoginAt(LocalDateTime lastLoginAt) { this.lastLoginAt = lastLoginAt; }
+
+    public long getLoginCount() { return loginCount; }
+    public void setLoginCount(long loginCount) { this.loginCount = loginCount; }
+
     public Set<Role> getRoles() { return roles; }
     public void setRoles(Set<Role> roles) { this.roles = roles; }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.execution;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("execution.admission")
+public class AdmissionConfiguration {
+
+    private boolean enabled = true;
+
+    // Callers allowed to hold a connection at once. Keep below the Hikari maximum-pool-size, so
+    // work that is not admitted (scheduled flushes, the audit sink, index rebuilds) still gets one
+    private int maxConcurrent = 8;
+
+    // How long a caller may wait for a permit before it is shed with 503
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+    public Duration getAcquireTimeout() { return acquireTimeout; }
+    public void setAcquireTimeout(Duration acquireTimeout) { this.acquireTimeout = acquireTimeout; }
+}
@@ -0,0 +1,19 @@
+package com.example.execution;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private final AdmissionInterceptor admissionInterceptor;
+
+    public AdmissionEndpoint(AdmissionInterceptor admissionInterceptor) {
+        this.admissionInterceptor = admissionInterceptor;
+    }
+
+    @Read
+    public AdmissionStats stats() {
+        return admissionInterceptor.stats();
+    }
+}
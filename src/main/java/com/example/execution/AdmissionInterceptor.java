@@ -0,0 +1,91 @@
+package com.example.execution;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fair semaphore in front of {@link Admitted} code. Permits are reentrant per thread,
+ * so a transactional service method and the repository calls inside it take one permit.
+ * Runs outside the transaction and replica routing interceptors, so a caller waits for
+ * its permit before it takes a connection, never while holding one.
+ */
+@Singleton
+@InterceptorBean(Admitted.class)
+public class AdmissionInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final Semaphore permits;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionInterceptor(AdmissionConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.maxConcurrent = Math.max(1, configuration.getMaxConcurrent());
+        this.acquireTimeoutNanos = configuration.getAcquireTimeout().toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.TRANSACTION.getPosition() - 2;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!enabled) {
+            return context.proceed();
+        }
+        int[] held = depth.get();
+        if (held[0] > 0) {
+            held[0]++;
+            try {
+                return context.proceed();
+            } finally {
+                held[0]--;
+            }
+        }
+
+        acquire();
+        held[0] = 1;
+        try {
+            return context.proceed();
+        } finally {
+            held[0] = 0;
+            permits.release();
+        }
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(
+            enabled,
+            maxConcurrent,
+            maxConcurrent - permits.availablePermits(),
+            permits.getQueueLength(),
+            admitted.sum(),
+            rejected.sum());
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                admitted.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new AdmissionRejectedException();
+    }
+}
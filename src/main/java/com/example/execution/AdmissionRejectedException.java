@@ -0,0 +1,8 @@
+package com.example.execution;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException() {
+        super("Database admission limit reached");
+    }
+}
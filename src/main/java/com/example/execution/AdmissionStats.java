@@ -0,0 +1,12 @@
+package com.example.execution;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record AdmissionStats(boolean enabled,
+                             int maxConcurrent,
+                             int inUse,
+                             int waiting,
+                             long admitted,
+                             long rejected) {
+}
@@ -0,0 +1,22 @@
+package com.example.execution;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks code that holds a database connection for its duration. Calls wait for
+ * an {@link AdmissionInterceptor} permit, so request concurrency can exceed the
+ * connection pool without piling up inside Hikari. Annotate the method that opens the
+ * transaction, not just the repositories it calls, so no connection is held while waiting.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface Admitted {
+}
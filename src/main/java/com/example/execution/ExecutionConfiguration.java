@@ -0,0 +1,19 @@
+package com.example.execution;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("execution")
+public class ExecutionConfiguration {
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    // VIRTUAL needs JDK 21; PLATFORM runs blocking handlers on Micronaut's bounded I/O pool
+    private Mode mode = Mode.VIRTUAL;
+
+    // Getters and Setters
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+}
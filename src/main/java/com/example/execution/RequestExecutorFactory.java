@@ -0,0 +1,39 @@
+package com.example.execution;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Exposes the executor blocking handlers run on as {@value #REQUEST}, chosen by
+ * {@code execution.mode}. Controllers refer to the name, never to a concrete pool.
+ */
+@Factory
+public class RequestExecutorFactory {
+
+    public static final String REQUEST = "request";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestExecutorFactory.class);
+
+    @Singleton
+    @Named(REQUEST)
+    ExecutorService requestExecutor(ExecutionConfiguration configuration, BeanLocator beanLocator) {
+        if (configuration.getMode() == ExecutionConfiguration.Mode.VIRTUAL) {
+            // Micronaut only registers the virtual executor when the JDK supports it
+            Optional<ExecutorService> virtual = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.VIRTUAL));
+            if (virtual.isPresent()) {
+                return virtual.get();
+            }
+            LOG.warn("Virtual threads are not available on this JDK; falling back to platform threads");
+        }
+        return beanLocator.getBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.IO));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.metrics;
+
+import com.example.entity.CacheRegions;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.cache.Cache;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate's session factory statistics. Counts only move while
+ * {@code hibernate.generate_statistics} is on. The session factory is resolved on first
+ * scrape, so binding does not force JPA (and its pool) up before the registry exists.
+ * Second-level cache regions get their own hit, miss, put, eviction and size meters.
+ */
+@Singleton
+public class HibernateStatisticsBinder implements MeterBinder {
+
+    private final BeanProvider<SessionFactory> sessionFactory;
+
+    public HibernateStatisticsBinder(BeanProvider<SessionFactory> sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hibernate.queries", Statistics::getQueryExecutionCount,
+            "HQL and criteria query executions");
+        counter(registry, "hibernate.statements", Statistics::getPrepareStatementCount,
+            "JDBC statements prepared");
+        counter(registry, "hibernate.flushes", Statistics::getFlushCount,
+            "Session flushes");
+        counter(registry, "hibernate.sessions.opened", Statistics::getSessionOpenCount,
+            "Sessions opened");
+        counter(registry, "hibernate.transactions", Statistics::getTransactionCount,
+            "Transactions completed");
+
+        entityCounter(registry, "load", Statistics::getEntityLoadCount);
+        entityCounter(registry, "insert", Statistics::getEntityInsertCount);
+        entityCounter(registry, "update", Statistics::getEntityUpdateCount);
+        entityCounter(registry, "delete", Statistics::getEntityDeleteCount);
+
+        cacheCounter(registry, "hibernate.cache.second.level", "hit", Statistics::getSecondLevelCacheHitCount);
+        cacheCounter(registry, "hibernate.cache.second.level", "miss", Statistics::getSecondLevelCacheMissCount);
+        cacheCounter(registry, "hibernate.cache.second.level", "put", Statistics::getSecondLevelCachePutCount);
+        cacheCounter(registry, "hibernate.cache.query", "hit", Statistics::getQueryCacheHitCount);
+        cacheCounter(registry, "hibernate.cache.query", "miss", Statistics::getQueryCacheMissCount);
+        cacheCounter(registry, "hibernate.cache.query", "put", Statistics::getQueryCachePutCount);
+
+        for (String region : CacheRegions.ALL) {
+            regionCounter(registry, region, "hit", CacheRegionStatistics::getHitCount);
+            regionCounter(registry, region, "miss", CacheRegionStatistics::getMissCount);
+            regionCounter(registry, region, "put", CacheRegionStatistics::getPutCount);
+            FunctionCounter.builder("hibernate.cache.region.evictions", this, binder -> {
+                    CacheStats stats = binder.nativeStatistics(region);
+                    return stats == null ? 0 : stats.evictionCount();
+                })
+                .tag(Layer.TAG, Layer.DB)
+                .tag("region", region)
+                .description("Entries evicted for size or expiry")
+                .register(registry);
+            Gauge.builder("hibernate.cache.region.size", this, binder -> {
+                    CacheRegionStatistics stats = binder.statistics().getCacheRegionStatistics(region);
+                    return stats == null ? 0 : stats.getElementCountInMemory();
+                })
+                .tag(Layer.TAG, Layer.DB)
+                .tag("region", region)
+                .register(registry);
+        }
+
+        Gauge.builder("hibernate.query.max.time", this, binder -> binder.statistics().getQueryExecutionMaxTime())
+            .tag(Layer.TAG, Layer.DB)
+            .description("Slowest query execution seen, in milliseconds")
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, ToDoubleFunction<Statistics> count,
+                         String description) {
+        FunctionCounter.builder(name, this, binder -> count.applyAsDouble(binder.statistics()))
+            .tag(Layer.TAG, Layer.DB)
+            .description(description)
+            .register(registry);
+    }
+
+    private void entityCounter(MeterRegistry registry, String operation, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder("hibernate.entities", this, binder -> count.applyAsDouble(binder.statistics()))
+            .tag(Layer.TAG, Layer.DB)
+            .tag("operation", operation)
+            .description("Entity loads, inserts, updates and deletes")
+            .register(registry);
+    }
+
+    private void cacheCounter(MeterRegistry registry, String name, String result,
+                              ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, this, binder -> count.applyAsDouble(binder.statistics()))
+            .tag(Layer.TAG, Layer.DB)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void regionCounter(MeterRegistry registry, String region, String result,
+                               ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.cache.region", this, binder -> {
+                CacheRegionStatistics stats = binder.statistics().getCacheRegionStatistics(region);
+                return stats == null ? 0 : count.applyAsDouble(stats);
+            })
+            .tag(Layer.TAG, Layer.DB)
+            .tag("region", region)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    // Caffeine's own counters, exposed when the region has native-statistics on in hibernate-cache.conf
+    @Nullable
+    private CacheStats nativeStatistics(String region) {
+        RegionFactory regionFactory = sessionFactory.get().unwrap(SessionFactoryImplementor.class)
+            .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return null;
+        }
+        Cache<Object, Object> cache = jcache.getCacheManager().getCache(region);
+        return cache == null ? null
+            : cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).stats();
+    }
+
+    private Statistics statistics() {
+        return sessionFactory.get().getStatistics();
+    }
+}
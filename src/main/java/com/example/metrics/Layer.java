@@ -0,0 +1,18 @@
+package com.example.metrics;
+
+/**
+ * Values of the {@code layer} tag carried by every application meter, so a slow login
+ * can be broken down into BCrypt, JWT, service and database time.
+ */
+public final class Layer {
+
+    public static final String TAG = "layer";
+
+    public static final String SERVICE = "service";
+    public static final String DB = "db";
+    public static final String CRYPTO = "crypto";
+    public static final String JWT = "jwt";
+
+    private Layer() {
+    }
+}
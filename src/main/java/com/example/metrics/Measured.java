@@ -0,0 +1,25 @@
+package com.example.metrics;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records every call as an {@code app.calls} timer tagged with the {@link Layer},
+ * the component and the method, so one annotation on a type covers all of its methods.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface Measured {
+
+    /**
+     * @return the {@link Layer} tag value
+     */
+    String value();
+}
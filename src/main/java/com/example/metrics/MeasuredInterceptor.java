@@ -0,0 +1,90 @@
+package com.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.Intercepted;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Times {@link Measured} calls. Reactor results are timed from subscription to
+ * termination and asynchronous ones until completion, not just until they are returned.
+ */
+@Singleton
+@InterceptorBean(Measured.class)
+public class MeasuredInterceptor implements MethodInterceptor<Object, Object> {
+
+    public static final String METRIC = "app.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> components = new ConcurrentHashMap<>();
+
+    public MeasuredInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = context.proceed();
+        } catch (RuntimeException e) {
+            record(sample, context, e);
+            throw e;
+        }
+        if (result instanceof Publisher<?> publisher) {
+            Flux<?> timed = Flux.defer(() -> {
+                Timer.Sample subscribed = Timer.start(meterRegistry);
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return Flux.from(publisher)
+                    .doOnError(error::set)
+                    .doFinally(signal -> record(subscribed, context, error.get()));
+            });
+            return Mono.class.isAssignableFrom(context.getReturnType().getType()) ? Mono.from(timed) : timed;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.whenComplete((value, error) -> record(sample, context, error));
+        }
+        record(sample, context, null);
+        return result;
+    }
+
+    private void record(Timer.Sample sample, MethodInvocationContext<Object, Object> context,
+                        @Nullable Throwable error) {
+        sample.stop(Timer.builder(METRIC)
+            .tag(Layer.TAG, context.stringValue(Measured.class).orElse("unknown"))
+            .tag("class", components.computeIfAbsent(context.getTarget().getClass(), MeasuredInterceptor::component))
+            .tag("method", context.getMethodName())
+            .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    // Proxies subclass an advised bean, or implement the repository interface for introductions
+    static String component(Class<?> type) {
+        if (Intercepted.class.isAssignableFrom(type)) {
+            Class<?> superclass = type.getSuperclass();
+            if (superclass != null && superclass != Object.class) {
+                return superclass.getSimpleName();
+            }
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (!candidate.getName().startsWith("io.micronaut.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.repository;
+
+import com.example.entity.AuditEvent;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.repository.JpaRepository;
+
+@Repository
+@Admitted
+@Measured(Layer.DB)
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+}
@@ -0,0 +1,55 @@
+package com.example.repository;
+
+import com.example.dto.LoginActivity;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Applies coalesced login activity as one JDBC batch of increments. Plain JDBC rather than
+ * a JPQL bulk update, which would invalidate the whole users region of the second-level
+ * cache on every flush; callers evict just the rows they changed.
+ */
+@Singleton
+@Admitted
+@Measured(Layer.DB)
+public class LoginActivityRepository {
+
+    // Relative to the stored row, so concurrent flushes from several nodes add up
+    private static final String ADD_LOGINS = """
+        UPDATE users
+        SET login_count = login_count + ?,
+            last_login_at = CASE WHEN last_login_at IS NULL OR last_login_at < ? THEN ? ELSE last_login_at END
+        WHERE id = ?""";
+
+    private final EntityManager entityManager;
+
+    public LoginActivityRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public void addLogins(List<LoginActivity> activity) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_LOGINS)) {
+                for (LoginActivity row : activity) {
+                    Timestamp lastLoginAt = Timestamp.valueOf(row.lastLoginAt());
+                    statement.setLong(1, row.logins());
+                    statement.setTimestamp(2, lastLoginAt);
+                    statement.setTimestamp(3, lastLoginAt);
+                    statement.setLong(4, row.userId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.repository;
+
+import com.example.dto.UserRoleRow;
+import com.example.entity.User;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import com.example.service.DataAccessMode;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.GenericRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of the {@link UserRepository} read and profile-write queries. Roles
+ * need no reactive repository: they are served from the in-memory RoleRegistry. The
+ * dialect is the compile-time default; r2dbc.datasources.default.dialect overrides it.
+ */
+@R2dbcRepository(dialect = Dialect.H2)
+@Requires(property = DataAccessMode.PROPERTY, value = DataAccessMode.R2DBC)
+@Measured(Layer.DB)
+public interface ReactiveUserRepository extends GenericRepository<User, Long> {
+
+    @Query("""
+        SELECT u.id AS id, u.username AS username, u.email AS email, u.first_name AS first_name,
+               u.last_name AS last_name, u.enabled AS enabled, u.created_at AS created_at,
+               u.password AS password, r.name AS role_name
+        FROM users u
+        LEFT JOIN user_roles ur ON ur.user_id = u.id
+        LEFT JOIN roles r ON r.id = ur.role_id
+        WHERE u.username = :username""")
+    Flux<UserRoleRow> findRoleRowsByUsername(String username);
+
+    @Query("""
+        SELECT u.id AS id, u.username AS username, u.email AS email, u.first_name AS first_name,
+               u.last_name AS last_name, u.enabled AS enabled, u.created_at AS created_at,
+               u.password AS password, r.name AS role_name
+        FROM users u
+        LEFT JOIN user_roles ur ON ur.user_id = u.id
+        LEFT JOIN roles r ON r.id = ur.role_id
+        WHERE u.id = :id""")
+    Flux<UserRoleRow> findRoleRowsById(Long id);
+
+    // Keyset page: limit the users first, then join their roles
+    @Query("""
+        SELECT u.id AS id, u.username AS username, u.email AS email, u.first_name AS first_name,
+               u.last_name AS last_name, u.enabled AS enabled, u.created_at AS created_at,
+               u.password AS password, r.name AS role_name
+        FROM (SELECT * FROM users WHERE id > :afterId ORDER BY id LIMIT :limit) u
+        LEFT JOIN user_roles ur ON ur.user_id = u.id
+        LEFT JOIN roles r ON r.id = ur.role_id
+        ORDER BY u.id""")
+    Flux<UserRoleRow> findRoleRowsPage(long afterId, int limit);
+
+    // A null enabled keeps the stored flag
+    @Query("""
+        UPDATE users SET first_name = :firstName, last_name = :lastName, email = :email,
+               enabled = COALESCE(:enabled, enabled)
+        WHERE id = :id""")
+    Mono<Long> updateProfile(Long id, @Nullable String firstName, @Nullable String lastName, String email,
+                             @Nullable Boolean enabled);
+
+    @Query("UPDATE users SET password = :newHash WHERE id = :id AND password = :currentHash")
+    Mono<Long> updatePasswordHash(Long id, String currentHash, String newHash);
+
+    @Query("DELETE FROM user_roles WHERE user_id = :id")
+    Mono<Long> deleteRoles(Long id);
+
+    @Query("DELETE FROM users WHERE id = :id")
+    Mono<Long> deleteUser(Long id);
+}
@@ -1,12 +1,17 @@
 package com.example.repository;
 
 import com.example.entity.Role;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 @Repository
+@Admitted
+@Measured(Layer.DB)
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(Role.RoleName name);
 }
\ No newline at end of file
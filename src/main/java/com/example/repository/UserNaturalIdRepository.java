@@ -0,0 +1,56 @@
+package com.example.repository;
+
+import com.example.datasource.ReplicaReads;
+import com.example.entity.User;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Username lookups through Hibernate's natural-id API instead of generated JPQL. A cached
+ * username resolves to its id without SQL and the entity then comes from the second-level
+ * cache; an uncached one costs a single select on the unique username index. Lookups may
+ * be served by a read replica; existence checks guard writes and always read the primary.
+ */
+@Singleton
+@Admitted
+@Measured(Layer.DB)
+public class UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public UserNaturalIdRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @ReplicaReads
+    @ReadOnly
+    public Optional<User> findByUsername(String username) {
+        return withRoles(session().bySimpleNaturalId(User.class).load(username));
+    }
+
+    // Resolves the id only, so nothing beyond the natural-id cache or the username index is read
+    @ReadOnly
+    public boolean existsByUsername(String username) {
+        return session().bySimpleNaturalId(User.class).getReference(username) != null;
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    // Callers use the entity after the read-only transaction has closed
+    private static Optional<User> withRoles(User user) {
+        if (user != null) {
+            Hibernate.initialize(user.getRoles());
+        }
+        return Optional.ofNullable(user);
+    }
+}
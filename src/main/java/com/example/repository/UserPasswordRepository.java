@@ -0,0 +1,55 @@
+package com.example.repository;
+
+import com.example.entity.User;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Swaps a stored password hash with plain JDBC. A JPQL bulk update would invalidate the
+ * whole users region of the second-level cache on every rehash; this evicts just the row
+ * it changed, once now and once more when the surrounding transaction completes, so no
+ * reader in between can put the old hash back.
+ */
+@Singleton
+@Admitted
+@Measured(Layer.DB)
+public class UserPasswordRepository {
+
+    // Compare-and-set on the old hash, so a password changed in the meantime is never overwritten
+    private static final String UPDATE_PASSWORD_HASH = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+
+    private final EntityManager entityManager;
+
+    public UserPasswordRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public int updatePasswordHash(Long id, String currentHash, String newHash) {
+        Session session = entityManager.unwrap(Session.class);
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_PASSWORD_HASH)) {
+                statement.setString(1, newHash);
+                statement.setLong(2, id);
+                statement.setString(3, currentHash);
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            Cache cache = session.getSessionFactory().getCache();
+            cache.evictEntityData(User.class, id);
+            session.unwrap(SessionImplementor.class).getActionQueue()
+                .registerProcess((success, completed) -> cache.evictEntityData(User.class, id));
+        }
+        return updated;
+    }
+}
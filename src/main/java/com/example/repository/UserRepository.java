@@ -1,15 +1,45 @@
 package com.example.repository;
 
 import com.example.entity.User;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Join;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jpa.repository.JpaRepository;
+import io.micronaut.data.model.Pageable;
+import org.hibernate.jpa.HibernateHints;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
+@Admitted
+@Measured(Layer.DB)
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
-    Optional<User> findByEmail(String email);
-    boolean existsByUsername(String username);
-    boolean existsByEmail(String email);
+    // Listings load read-only, without snapshots for dirty checking; never modify what they return
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    @Override
+    @NonNull
+    List<User> findAll();
+
+    // findById stays the inherited EntityManager.find, so it is answered from the second-level cache
+
+    // Set-wise uniqueness checks for bulk import
+    List<String> findUsernameByUsernameIn(Collection<String> usernames);
+    List<String> findEmailByEmailIn(Collection<String> emails);
+
+    // Keyset pagination: seek on the primary key, then fetch the slice with its roles in one query
+    List<Long> findIdByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Join(value = "roles", type = Join.Type.LEFT_FETCH)
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    List<User> findByIdInOrderById(Collection<Long> ids);
+
+    // Password hash swaps go through UserPasswordRepository, which evicts only the changed row
+
 }
\ No newline at end of file
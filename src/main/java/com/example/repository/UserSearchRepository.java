@@ -0,0 +1,96 @@
+package com.example.repository;
+
+import com.example.datasource.ReplicaReads;
+import com.example.entity.User;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import com.example.service.PageCursor;
+import com.example.service.UserSearchQuery;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix search over one user column, keyset-paginated on (column, id). The id query is a
+ * range scan of that column's index (see the indexes on {@link User}); the page is then
+ * loaded with its roles in one more statement, as for the plain user listing. Matching
+ * follows the column collation: case-insensitive under MySQL's default, exact on H2.
+ */
+@Singleton
+@Admitted
+@Measured(Layer.DB)
+public class UserSearchRepository {
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+
+    public UserSearchRepository(EntityManager entityManager, UserRepository userRepository) {
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+    }
+
+    @ReplicaReads
+    @ReadOnly
+    public List<User> search(UserSearchQuery query, @Nullable PageCursor.Key after, int limit) {
+        String attribute = "u." + query.field().attribute();
+        StringBuilder jpql = new StringBuilder("SELECT u.id FROM User u WHERE ").append(attribute).append(" IS NOT NULL");
+        if (!query.prefix().isEmpty()) {
+            jpql.append(" AND ").append(attribute).append(" LIKE :prefix ESCAPE '\\'");
+        }
+        if (after != null) {
+            jpql.append(" AND (").append(attribute).append(" > :afterValue OR (")
+                .append(attribute).append(" = :afterValue AND u.id > :afterId))");
+        }
+        if (query.enabled() != null) {
+            jpql.append(" AND u.enabled = :enabled");
+        }
+        if (query.role() != null) {
+            jpql.append(" AND EXISTS (SELECT r.id FROM u.roles r WHERE r.name = :role)");
+        }
+        jpql.append(" ORDER BY ").append(attribute).append(", u.id");
+
+        TypedQuery<Long> ids = entityManager.createQuery(jpql.toString(), Long.class).setMaxResults(limit);
+        if (!query.prefix().isEmpty()) {
+            ids.setParameter("prefix", escapeLike(query.prefix()) + "%");
+        }
+        if (after != null) {
+            ids.setParameter("afterValue", after.value()).setParameter("afterId", after.id());
+        }
+        if (query.enabled() != null) {
+            ids.setParameter("enabled", query.enabled());
+        }
+        if (query.role() != null) {
+            ids.setParameter("role", query.role());
+        }
+        return findByIds(ids.getResultList());
+    }
+
+    // Users with their roles, in the order of the given ids
+    @ReplicaReads
+    @ReadOnly
+    public List<User> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<User> users = new ArrayList<>(userRepository.findByIdInOrderById(ids));
+        users.sort(Comparator.comparing(user -> position.get(user.getId())));
+        return users;
+    }
+
+    static String escapeLike(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,46 +1,130 @@
 package com.example.security;
 
+import com.example.audit.AuditLog;
+import com.example.dto.UserSnapshot;
+import com.example.entity.AuditEvent;
 import com.example.entity.Role;
-import com.example.entity.User;
+import com.example.service.LoginActivityTracker;
+import com.example.service.ReactiveUserService;
+import com.example.service.RoleRegistry;
 import com.example.service.UserService;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
 import io.micronaut.security.authentication.*;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
-public class AuthenticationProvider implements io.micronaut.security.authentication.provider.AuthenticationProvider {
+public class AuthenticationProvider implements io.micronaut.security.authentication.provider.ReactiveAuthenticationProvider {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AuthenticationProvider.class);
+
+    private final ReactiveUserService reactiveUserService;
     private final UserService userService;
+    private final LoginRateLimiter rateLimiter;
+    private final HttpClientAddressResolver clientAddressResolver;
+    private final AuditLog auditLog;
+    private final LoginActivityTracker loginActivityTracker;
+    // Users whose hash is being upgraded, so a burst of logins rehashes once
+    private final Set<Long> rehashing = ConcurrentHashMap.newKeySet();
 
-    public AuthenticationProvider(UserService userService) {
+    public AuthenticationProvider(ReactiveUserService reactiveUserService, UserService userService,
+                                  LoginRateLimiter rateLimiter, HttpClientAddressResolver clientAddressResolver,
+                                  AuditLog auditLog, LoginActivityTracker loginActivityTracker) {
+        this.reactiveUserService = reactiveUserService;
         this.userService = userService;
+        this.rateLimiter = rateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+        this.auditLog = auditLog;
+        this.loginActivityTracker = loginActivityTracker;
     }
 
     @Override
-    public AuthenticationResponse authenticate(Object requestContext,
-                                             AuthenticationRequest authenticationRequest) {
+    public Publisher<AuthenticationResponse> authenticate(Object requestContext,
+                                                          AuthenticationRequest authenticationRequest) {
         String username = authenticationRequest.getIdentity().toString();
         String password = authenticationRequest.getSecret().toString();
 
-        User user = userService.findByUsername(username).orElse(null);
-        if (user == null) {
-            return AuthenticationResponse.failure(AuthenticationFailureReason.USER_NOT_FOUND);
+        // Throttled attempts cost neither a query nor a hash
+        String clientAddress = requestContext instanceof HttpRequest<?> request
+            ? clientAddressResolver.resolve(request) : null;
+        Optional<Duration> retryAfter = rateLimiter.tryAcquire(username, clientAddress);
+        if (retryAfter.isPresent()) {
+            auditLog.record(AuditEvent.Type.LOGIN_THROTTLED, null, username, clientAddress);
+            return Mono.error(new LoginThrottledException(retryAfter.get()));
         }
 
-        if (!user.isEnabled() || !userService.validatePassword(password, user.getPassword())) {
-            return AuthenticationResponse.failure(AuthenticationFailureReason.CREDENTIALS_DO_NOT_MATCH);
-        }
+        // Neither the lookup nor BCrypt runs on the calling thread; Mono.fromFuture unwraps CompletionException
+        return reactiveUserService.findSnapshotByUsername(username)
+            .flatMap(user -> Mono.fromFuture(() -> verify(user, username, password, clientAddress)))
+            .switchIfEmpty(Mono.fromFuture(() -> reject(null, username, password, clientAddress)));
+    }
+
+    // Unknown and disabled accounts pay for a hash and get the same answer as a wrong password
+    private CompletableFuture<AuthenticationResponse> reject(@Nullable Long userId, String username, String password,
+                                                             @Nullable String clientAddress) {
+        return userService.rejectPasswordAsync(password)
+            .thenApply(valid -> failure(userId, username, clientAddress));
+    }
+
+    private AuthenticationResponse failure(@Nullable Long userId, String username, @Nullable String clientAddress) {
+        auditLog.record(AuditEvent.Type.LOGIN_FAILED, userId, username, clientAddress);
+        return AuthenticationResponse.failure(AuthenticationFailureReason.CREDENTIALS_DO_NOT_MATCH);
+    }
 
-        List<String> roles = new ArrayList<>();
-        for (Role role : user.getRoles()) {
-            roles.add("ROLE_" + role.getName().toString());
+    private CompletableFuture<AuthenticationResponse> verify(UserSnapshot user, String username, String password,
+                                                             @Nullable String clientAddress) {
+        if (!user.enabled()) {
+            return reject(user.id(), username, password, clientAddress);
         }
 
-        return AuthenticationResponse.success(username, roles);
+        return userService.validatePasswordAsync(user, password)
+            .thenApply(valid -> {
+                if (!valid) {
+                    return failure(user.id(), username, clientAddress);
+                }
+                if (userService.needsRehash(user)) {
+                    upgradeHash(user, password);
+                }
+
+                List<String> roles = new ArrayList<>();
+                for (Role.RoleName role : user.roles()) {
+                    roles.add(RoleRegistry.authority(role));
+                }
+
+                auditLog.record(AuditEvent.Type.LOGIN_SUCCEEDED, user.id(), username, clientAddress);
+                // Memory only; lastLoginAt and loginCount reach the database on the next flush
+                loginActivityTracker.recordLogin(user.id());
+
+                // Carried into the access token so /me and later checks need no lookup by name
+                return AuthenticationResponse.success(username, roles, TokenClaims.of(user.id(), user.enabled()));
+            });
+    }
+
+    // The password is only ever in hand at login, so that is when a stale hash can be replaced
+    private void upgradeHash(UserSnapshot user, String password) {
+        if (!rehashing.add(user.id())) {
+            return;
+        }
+        Mono.fromFuture(() -> userService.hashPasswordAsync(password))
+            .flatMap(newHash -> reactiveUserService.replacePasswordHash(user, newHash))
+            // Shed under load like any other hashing; a later login tries again
+            .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.empty())
+            .doFinally(signal -> rehashing.remove(user.id()))
+            .subscribe(
+                replaced -> LOG.debug("Upgraded password hash of user {}: {}", user.id(), replaced),
+                error -> LOG.warn("Could not upgrade password hash of user {}", user.id(), error));
     }
-}
\ No newline at end of file
+}
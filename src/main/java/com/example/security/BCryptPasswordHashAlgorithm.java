@@ -0,0 +1,93 @@
+package com.example.security;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * BCrypt at a fixed cost. Hashes look like {@code $2a$12$<salt><hash>}; the two digits
+ * after the version are the cost, so stale hashes are recognised without verifying them.
+ */
+public class BCryptPasswordHashAlgorithm implements PasswordHashAlgorithm {
+
+    public static final String ID = "bcrypt";
+
+    static final int MIN_COST = 4;
+    static final int MAX_COST = 31;
+
+    private final int cost;
+
+    public BCryptPasswordHashAlgorithm(int cost) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between " + MIN_COST + " and " + MAX_COST);
+        }
+        this.cost = cost;
+    }
+
+    /**
+     * Picks the highest cost whose hash still takes no longer than the target on this host,
+     * but never less than {@code minCost}. Each step doubles the work, so one measurement at
+     * the floor is extrapolated instead of timing every candidate.
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        int floor = Math.max(MIN_COST, minCost);
+        int ceiling = Math.min(MAX_COST, Math.max(floor, maxCost));
+        String salt = BCrypt.gensalt(floor);
+        // First run pays for class loading and JIT
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int cost = floor;
+        long nanos = best;
+        long targetNanos = target.toNanos();
+        while (cost < ceiling && nanos * 2 <= targetNanos) {
+            cost++;
+            nanos *= 2;
+        }
+        return cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean recognizes(String storedHash) {
+        return storedHash != null && storedHash.startsWith("$2");
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost));
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String storedHash) {
+        return BCrypt.checkpw(rawPassword, storedHash);
+    }
+
+    // Only upwards: a stronger stored hash is kept even if this host calibrated lower
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return costOf(storedHash) < cost;
+    }
+
+    // $2$nn$ or $2a$nn$
+    static int costOf(String storedHash) {
+        int start = storedHash.charAt(3) == '$' ? 4 : 3;
+        try {
+            return Integer.parseInt(storedHash.substring(start, start + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.encryption.EncryptionConfiguration;
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration;
+import io.micronaut.security.token.jwt.validator.GenericJwtClaimsValidator;
+import io.micronaut.security.token.jwt.validator.JwtAuthenticationFactory;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link JwtTokenValidator} that answers repeat tokens from the {@link ValidatedTokenCache}
+ * and records verification time as {@code security.jwt{operation=verify}}, tagged with
+ * whether the token was accepted, rejected or served from the cache. Cached or not, a
+ * token whose user was revoked after it was issued is refused.
+ */
+@Singleton
+@Replaces(JwtTokenValidator.class)
+public class CachingJwtTokenValidator<T> extends JwtTokenValidator<T> {
+
+    private final ValidatedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
+    private final MeterRegistry meterRegistry;
+    private final Timer accepted;
+    private final Timer rejected;
+    private final Timer cached;
+
+    @Inject
+    @SuppressWarnings("rawtypes")
+    public CachingJwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
+                                    Collection<EncryptionConfiguration> encryptionConfigurations,
+                                    Collection<GenericJwtClaimsValidator> genericJwtClaimsValidators,
+                                    JwtAuthenticationFactory jwtAuthenticationFactory,
+                                    @Named(TaskExecutors.BLOCKING) ExecutorService executorService,
+                                    ValidatedTokenCache tokenCache,
+                                    TokenRevocationStore revocationStore,
+                                    MeterRegistry meterRegistry) {
+        super(signatureConfigurations, encryptionConfigurations, genericJwtClaimsValidators,
+            jwtAuthenticationFactory, executorService);
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+        this.meterRegistry = meterRegistry;
+        this.accepted = JwtMetrics.timer(meterRegistry, "verify", "success");
+        this.rejected = JwtMetrics.timer(meterRegistry, "verify", "failure");
+        this.cached = JwtMetrics.timer(meterRegistry, "verify", "cached");
+    }
+
+    @Override
+    public Publisher<Authentication> validateToken(String token, T request) {
+        long start = System.nanoTime();
+        Optional<Authentication> hit = tokenCache.get(token);
+        if (hit.isPresent()) {
+            cached.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return revocationStore.isRevoked(hit.get()) ? Mono.empty() : Mono.just(hit.get());
+        }
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean valid = new AtomicBoolean();
+            return Flux.from(super.validateToken(token, request))
+                .filter(authentication -> !revocationStore.isRevoked(authentication))
+                .doOnNext(authentication -> {
+                    valid.set(true);
+                    tokenCache.put(token, authentication);
+                })
+                .doFinally(signal -> sample.stop(valid.get() ? accepted : rejected));
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("password-hashing.credential-cache")
+public class CredentialCacheConfiguration {
+
+    // Opt-in: trades a few bytes of keyed MAC per user for skipping BCrypt on repeat logins
+    private boolean enabled = false;
+
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(15);
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaximumSize() { return maximumSize; }
+    public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,19 @@
+package com.example.security;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+@Endpoint(id = "credentialcache")
+public class CredentialCacheEndpoint {
+
+    private final VerifiedCredentialCache credentialCache;
+
+    public CredentialCacheEndpoint(VerifiedCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    @Read
+    public CredentialCacheStats stats() {
+        return credentialCache.stats();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.security;
+
+import com.example.metrics.Layer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+final class JwtMetrics {
+
+    private JwtMetrics() {
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("security.jwt")
+            .tag(Layer.TAG, Layer.JWT)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .description("JWT signing and verification duration")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("login-rate-limit")
+public class LoginRateLimitConfiguration {
+
+    private boolean enabled = true;
+
+    // Burst of attempts against one account, refilled evenly over the period
+    private int usernameCapacity = 5;
+    private Duration usernameRefillPeriod = Duration.ofMinutes(1);
+
+    // Looser, since many users can share a NAT or proxy address
+    private int clientCapacity = 30;
+    private Duration clientRefillPeriod = Duration.ofMinutes(1);
+
+    // Per key type; a flood of distinct keys evicts the least useful buckets instead of growing the heap
+    private long maxTrackedKeys = 100_000;
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getUsernameCapacity() { return usernameCapacity; }
+    public void setUsernameCapacity(int usernameCapacity) { this.usernameCapacity = usernameCapacity; }
+
+    public Duration getUsernameRefillPeriod() { return usernameRefillPeriod; }
+    public void setUsernameRefillPeriod(Duration usernameRefillPeriod) { this.usernameRefillPeriod = usernameRefillPeriod; }
+
+    public int getClientCapacity() { return clientCapacity; }
+    public void setClientCapacity(int clientCapacity) { this.clientCapacity = clientCapacity; }
+
+    public Duration getClientRefillPeriod() { return clientRefillPeriod; }
+    public void setClientRefillPeriod(Duration clientRefillPeriod) { this.clientRefillPeriod = clientRefillPeriod; }
+
+    public long getMaxTrackedKeys() { return maxTrackedKeys; }
+    public void setMaxTrackedKeys(long maxTrackedKeys) { this.maxTrackedKeys = maxTrackedKeys; }
+}
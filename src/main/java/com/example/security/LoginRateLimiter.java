@@ -0,0 +1,112 @@
+package com.example.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per username and per client address, checked before a login touches the
+ * database or BCrypt. Each bucket is a single {@link AtomicLong} updated by CAS, so
+ * attempts on different keys never contend; bucket tables are bounded Caffeine maps that
+ * drop a bucket once it has been idle long enough to have refilled completely.
+ */
+@Singleton
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Buckets usernames;
+    private final Buckets clients;
+
+    @Inject
+    public LoginRateLimiter(LoginRateLimitConfiguration configuration, MeterRegistry meterRegistry) {
+        this(configuration, Clock.systemUTC(), meterRegistry);
+    }
+
+    LoginRateLimiter(LoginRateLimitConfiguration configuration, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled();
+        this.clock = clock;
+        this.usernames = new Buckets("username", configuration.getUsernameCapacity(),
+            configuration.getUsernameRefillPeriod(), configuration.getMaxTrackedKeys(), meterRegistry);
+        this.clients = new Buckets("client", configuration.getClientCapacity(),
+            configuration.getClientRefillPeriod(), configuration.getMaxTrackedKeys(), meterRegistry);
+    }
+
+    /**
+     * Takes one attempt from both buckets.
+     *
+     * @return how long to wait before retrying, or empty if the attempt may proceed
+     */
+    public Optional<Duration> tryAcquire(String username, @Nullable String clientAddress) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        // Client first, so one address cycling through usernames cannot drain their buckets
+        if (clientAddress != null) {
+            long wait = clients.acquire(clientAddress, now);
+            if (wait > 0) {
+                return Optional.of(Duration.ofMillis(wait));
+            }
+        }
+        long wait = usernames.acquire(username, now);
+        return wait > 0 ? Optional.of(Duration.ofMillis(wait)) : Optional.empty();
+    }
+
+    /**
+     * One bucket table. Each bucket stores only its theoretical arrival time (GCRA): the
+     * instant it would be empty again. An attempt is allowed while that stays within
+     * capacity intervals of now.
+     */
+    private static final class Buckets {
+
+        private final long intervalMillis;
+        private final long burstMillis;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter throttled;
+
+        private Buckets(String scope, int capacity, Duration refillPeriod, long maxTrackedKeys,
+                        MeterRegistry registry) {
+            this.intervalMillis = Math.max(1, refillPeriod.toMillis() / Math.max(1, capacity));
+            this.burstMillis = intervalMillis * Math.max(1, capacity);
+            // An idle bucket that has refilled completely is indistinguishable from a new one
+            this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(burstMillis))
+                .build();
+            this.throttled = Counter.builder("login.throttled")
+                .tag("scope", scope)
+                .description("Login attempts rejected before lookup and hashing")
+                .register(registry);
+            Gauge.builder("login.rate.limit.buckets", buckets, Cache::estimatedSize)
+                .tag("scope", scope)
+                .register(registry);
+        }
+
+        private long acquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = bucket.get();
+                long next = Math.max(current, now) + intervalMillis;
+                long excess = next - now - burstMillis;
+                if (excess > 0) {
+                    throttled.increment();
+                    return excess;
+                }
+                if (bucket.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
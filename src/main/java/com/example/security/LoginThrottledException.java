@@ -0,0 +1,15 @@
+package com.example.security;
+
+import java.time.Duration;
+
+public class LoginThrottledException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many login attempts");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
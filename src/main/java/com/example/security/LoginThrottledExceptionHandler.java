@@ -0,0 +1,24 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.exceptions.ExceptionHandler;
+import jakarta.inject.Singleton;
+
+@Produces
+@Singleton
+@Requires(classes = {LoginThrottledException.class, ExceptionHandler.class})
+public class LoginThrottledExceptionHandler
+        implements ExceptionHandler<LoginThrottledException, HttpResponse<?>> {
+
+    @Override
+    public HttpResponse<?> handle(HttpRequest request, LoginThrottledException exception) {
+        long seconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        return HttpResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.security;
+
+/**
+ * One password hashing scheme. {@link PasswordHasher} picks the algorithm for a stored
+ * hash by its prefix, so hashes of several schemes can coexist while users migrate.
+ */
+public interface PasswordHashAlgorithm {
+
+    String id();
+
+    // True if the stored hash was produced by this scheme, judged by its prefix
+    boolean recognizes(String storedHash);
+
+    String hash(String rawPassword);
+
+    boolean verify(String rawPassword, String storedHash);
+
+    // True if the stored hash is weaker than new hashes get; stronger ones are kept
+    boolean needsRehash(String storedHash);
+}
@@ -0,0 +1,246 @@
+package com.example.security;
+
+import com.example.metrics.Layer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs all BCrypt work on a dedicated, bounded pool so that hashing never
+ * occupies request threads and a login burst is shed instead of queued.
+ * New hashes use the current algorithm; stored ones are verified by whichever
+ * algorithm recognises their prefix.
+ */
+@Singleton
+public class PasswordHasher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final BCryptPasswordHashAlgorithm algorithm;
+    // Every scheme stored hashes may still use; new hashes always get the current one
+    private final List<PasswordHashAlgorithm> algorithms;
+    private final String dummyHash;
+
+    private final Counter rejected;
+    private final Counter strongerStored;
+    private final AtomicBoolean strongerStoredLogged = new AtomicBoolean();
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHasher(PasswordHashingConfiguration configuration, MeterRegistry meterRegistry) {
+        int poolSize = Math.max(1, configuration.getPoolSize());
+        this.queueCapacity = Math.max(1, configuration.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HasherThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = timer(meterRegistry, "hash");
+        this.verifyTimer = timer(meterRegistry, "verify");
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .description("BCrypt tasks shed because the hashing queue was full")
+                .register(meterRegistry);
+        this.strongerStored = Counter.builder("password.hashing.stored.cost.above.current")
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .description("Logins whose stored hash has a higher BCrypt cost than new hashes get")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .register(meterRegistry);
+
+        this.algorithm = new BCryptPasswordHashAlgorithm(cost(configuration));
+        this.algorithms = List.of(algorithm);
+        Gauge.builder("password.hashing.cost", algorithm, BCryptPasswordHashAlgorithm::cost)
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .tag("algorithm", algorithm.id())
+                .register(meterRegistry);
+
+        // Same cost as real hashes, for a secret nobody knows
+        byte[] secret = new byte[16];
+        new SecureRandom().nextBytes(secret);
+        this.dummyHash = algorithm.hash(HexFormat.of().formatHex(secret));
+    }
+
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return submit(() -> algorithm.hash(rawPassword), hashTimer);
+    }
+
+    // Bulk work brings its own pool so it never competes with logins for queue slots
+    public CompletableFuture<String> hashAsync(String rawPassword, Executor bulkExecutor) {
+        return CompletableFuture.supplyAsync(
+                timed(() -> algorithm.hash(rawPassword), hashTimer), bulkExecutor);
+    }
+
+    // A hash no algorithm recognises is rejected at the cost of a real verification
+    public CompletableFuture<Boolean> verifyAsync(String rawPassword, String hashedPassword) {
+        Optional<PasswordHashAlgorithm> stored = algorithmFor(hashedPassword);
+        if (stored.isEmpty()) {
+            return verifyDummyAsync(rawPassword);
+        }
+        return submit(() -> stored.get().verify(rawPassword, hashedPassword), verifyTimer);
+    }
+
+    // True when a successful login should replace the stored hash with a fresh one
+    public boolean needsRehash(String hashedPassword) {
+        Optional<PasswordHashAlgorithm> stored = algorithmFor(hashedPassword);
+        if (stored.isEmpty()) {
+            return false;
+        }
+        if (stored.get() != algorithm) {
+            return true;
+        }
+        warnIfStrongerThanCurrent(hashedPassword);
+        return algorithm.needsRehash(hashedPassword);
+    }
+
+    /**
+     * Spends one verification on the same pool and timer as {@link #verifyAsync} and always
+     * answers false, so rejecting an unknown account costs as much as a wrong password.
+     */
+    public CompletableFuture<Boolean> verifyDummyAsync(String rawPassword) {
+        return submit(() -> {
+            algorithm.verify(rawPassword, dummyHash);
+            return false;
+        }, verifyTimer);
+    }
+
+    public String hash(String rawPassword) {
+        return await(hashAsync(rawPassword));
+    }
+
+    public boolean verify(String rawPassword, String hashedPassword) {
+        return await(verifyAsync(rawPassword, hashedPassword));
+    }
+
+    public PasswordHashingStats stats() {
+        return new PasswordHashingStats(
+                algorithm.id(),
+                algorithm.cost(),
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                (long) rejected.count(),
+                hashTimer.count(),
+                hashTimer.mean(TimeUnit.MILLISECONDS),
+                verifyTimer.count(),
+                verifyTimer.mean(TimeUnit.MILLISECONDS));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private Optional<PasswordHashAlgorithm> algorithmFor(String hashedPassword) {
+        for (PasswordHashAlgorithm candidate : algorithms) {
+            if (candidate.recognizes(hashedPassword)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Such hashes are kept, but a host calibrating below the cost already in use is worth a look
+    private void warnIfStrongerThanCurrent(String hashedPassword) {
+        int storedCost = BCryptPasswordHashAlgorithm.costOf(hashedPassword);
+        if (storedCost <= algorithm.cost()) {
+            return;
+        }
+        strongerStored.increment();
+        if (strongerStoredLogged.compareAndSet(false, true)) {
+            LOG.warn("Stored BCrypt cost {} is above the current cost {}; new hashes will be weaker until "
+                    + "password-hashing.cost or min-cost is raised", storedCost, algorithm.cost());
+        }
+    }
+
+    private static int cost(PasswordHashingConfiguration configuration) {
+        if (configuration.getCost() != null) {
+            return configuration.getCost();
+        }
+        int cost = BCryptPasswordHashAlgorithm.calibrate(configuration.getTargetDuration(),
+                configuration.getMinCost(), configuration.getMaxCost());
+        if (cost <= configuration.getMinCost()) {
+            LOG.warn("Calibrated BCrypt cost {} is at the min-cost floor; this host cannot meet a target of {} "
+                    + "per hash at a higher cost", cost, configuration.getTargetDuration());
+        } else {
+            LOG.info("Calibrated BCrypt cost {} for a target of {} per hash", cost, configuration.getTargetDuration());
+        }
+        return cost;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task, Timer timer) {
+        try {
+            return CompletableFuture.supplyAsync(timed(task, timer), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException());
+        }
+    }
+
+    // Measures BCrypt time on the hasher thread only; queue wait shows up in the caller's timings
+    private static <T> Supplier<T> timed(Supplier<T> task, Timer timer) {
+        return () -> timer.record(task);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .tag(Layer.TAG, Layer.CRYPTO)
+                .tag("operation", operation)
+                .description("BCrypt hash and verify duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class HasherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("password-hashing")
+public class PasswordHashingConfiguration {
+
+    // One BCrypt round keeps a core busy, so more threads than cores only adds contention
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    // Requests beyond this are rejected with 503 instead of queueing behind seconds of hashing
+    private int queueCapacity = 64;
+
+    // Fixed BCrypt cost; when unset the cost is calibrated at startup to take about target-duration
+    @Nullable
+    private Integer cost;
+
+    private Duration targetDuration = Duration.ofMillis(100);
+
+    // Calibration never goes below this, however slow the host
+    private int minCost = 10;
+
+    private int maxCost = 16;
+
+    // Getters and Setters
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    @Nullable
+    public Integer getCost() { return cost; }
+    public void setCost(@Nullable Integer cost) { this.cost = cost; }
+
+    public Duration getTargetDuration() { return targetDuration; }
+    public void setTargetDuration(Duration targetDuration) { this.targetDuration = targetDuration; }
+
+    public int getMinCost() { return minCost; }
+    public void setMinCost(int minCost) { this.minCost = minCost; }
+
+    public int getMaxCost() { return maxCost; }
+    public void setMaxCost(int maxCost) { this.maxCost = maxCost; }
+}
@@ -0,0 +1,19 @@
+package com.example.security;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+@Endpoint(id = "passwordhashing")
+public class PasswordHashingEndpoint {
+
+    private final PasswordHasher passwordHasher;
+
+    public PasswordHashingEndpoint(PasswordHasher passwordHasher) {
+        this.passwordHasher = passwordHasher;
+    }
+
+    @Read
+    public PasswordHashingStats stats() {
+        return passwordHasher.stats();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.security;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("Password hashing capacity exhausted");
+    }
+}
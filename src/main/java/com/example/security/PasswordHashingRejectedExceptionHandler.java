@@ -0,0 +1,23 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.exceptions.ExceptionHandler;
+import jakarta.inject.Singleton;
+
+@Produces
+@Singleton
+@Requires(classes = {PasswordHashingRejectedException.class, ExceptionHandler.class})
+public class PasswordHashingRejectedExceptionHandler
+        implements ExceptionHandler<PasswordHashingRejectedException, HttpResponse<?>> {
+
+    @Override
+    public HttpResponse<?> handle(HttpRequest request, PasswordHashingRejectedException exception) {
+        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1");
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.security;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record PasswordHashingStats(String algorithm,
+                                   int cost,
+                                   int poolSize,
+                                   int activeThreads,
+                                   int queueDepth,
+                                   int queueCapacity,
+                                   long rejected,
+                                   long hashCount,
+                                   double meanHashMillis,
+                                   long verifyCount,
+                                   double meanVerifyMillis) {
+}
@@ -0,0 +1,50 @@
+package com.example.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.security.token.jwt.signature.secret.SecretSignature;
+import io.micronaut.security.token.jwt.signature.secret.SecretSignatureConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * {@link SecretSignature} that builds its HMAC signer, verifier and header once. The stock
+ * one constructs them per token; both are stateless and safe to share across threads.
+ */
+@EachBean(SecretSignatureConfiguration.class)
+@Replaces(SecretSignature.class)
+public class ReusableSecretSignature extends SecretSignature {
+
+    private final JWSHeader header;
+    private final MACSigner signer;
+    private final MACVerifier verifier;
+
+    public ReusableSecretSignature(SecretSignatureConfiguration config) throws JOSEException {
+        super(config);
+        byte[] secret = config.isBase64()
+            ? Base64.getDecoder().decode(config.getSecret())
+            : config.getSecret().getBytes(StandardCharsets.UTF_8);
+        this.header = new JWSHeader(config.getJwsAlgorithm());
+        this.signer = new MACSigner(secret);
+        this.verifier = new MACVerifier(secret);
+    }
+
+    @Override
+    public SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        SignedJWT signedJWT = new SignedJWT(header, claims);
+        signedJWT.sign(signer);
+        return signedJWT;
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws JOSEException {
+        return jwt.verify(verifier);
+    }
+}
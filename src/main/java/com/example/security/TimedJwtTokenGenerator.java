@@ -0,0 +1,45 @@
+package com.example.security;
+
+import com.nimbusds.jose.JOSEException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.security.token.claims.ClaimsGenerator;
+import io.micronaut.security.token.jwt.encryption.EncryptionConfiguration;
+import io.micronaut.security.token.jwt.generator.JwtTokenGenerator;
+import io.micronaut.security.token.jwt.signature.SignatureGeneratorConfiguration;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenGenerator} that records signing time as {@code security.jwt{operation=sign}}.
+ */
+@Singleton
+@Replaces(JwtTokenGenerator.class)
+public class TimedJwtTokenGenerator extends JwtTokenGenerator {
+
+    private final Timer signTimer;
+
+    public TimedJwtTokenGenerator(@Named("generator") @Nullable SignatureGeneratorConfiguration signatureConfiguration,
+                                  @Named("generator") @Nullable EncryptionConfiguration encryptionConfiguration,
+                                  ClaimsGenerator claimsGenerator,
+                                  MeterRegistry meterRegistry) {
+        super(signatureConfiguration, encryptionConfiguration, claimsGenerator);
+        this.signTimer = JwtMetrics.timer(meterRegistry, "sign", "success");
+    }
+
+    @Override
+    protected String generate(Map<String, Object> claims) throws JOSEException, ParseException {
+        long start = System.nanoTime();
+        try {
+            return super.generate(claims);
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
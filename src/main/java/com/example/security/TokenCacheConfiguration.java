@@ -0,0 +1,19 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("token-cache")
+public class TokenCacheConfiguration {
+
+    private boolean enabled = true;
+
+    // Entries expire with the token's own exp claim; size only bounds memory
+    private long maximumSize = 100_000;
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaximumSize() { return maximumSize; }
+    public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+}
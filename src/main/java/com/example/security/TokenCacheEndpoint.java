@@ -0,0 +1,19 @@
+package com.example.security;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+@Endpoint(id = "tokencache")
+public class TokenCacheEndpoint {
+
+    private final ValidatedTokenCache tokenCache;
+
+    public TokenCacheEndpoint(ValidatedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @Read
+    public TokenCacheStats stats() {
+        return tokenCache.stats();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.security;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record TokenCacheStats(boolean enabled,
+                              long size,
+                              long hits,
+                              long misses,
+                              long evictions) {
+}
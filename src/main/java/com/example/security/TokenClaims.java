@@ -0,0 +1,53 @@
+package com.example.security;
+
+import io.micronaut.security.authentication.Authentication;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom claims put in access tokens at login, read back from the validated
+ * {@link Authentication} attributes.
+ */
+public final class TokenClaims {
+
+    public static final String USER_ID = "uid";
+    public static final String ENABLED = "enabled";
+
+    private static final String EXPIRATION = "exp";
+    private static final String ISSUED_AT = "iat";
+
+    private TokenClaims() {
+    }
+
+    public static Map<String, Object> of(Long userId, boolean enabled) {
+        return Map.of(USER_ID, userId, ENABLED, enabled);
+    }
+
+    // JSON numbers come back as Integer or Long depending on magnitude
+    public static Optional<Long> userId(Authentication authentication) {
+        return authentication.getAttributes().get(USER_ID) instanceof Number id
+            ? Optional.of(id.longValue())
+            : Optional.empty();
+    }
+
+    public static Optional<Instant> expiration(Authentication authentication) {
+        return instant(authentication.getAttributes().get(EXPIRATION));
+    }
+
+    public static Optional<Instant> issuedAt(Authentication authentication) {
+        return instant(authentication.getAttributes().get(ISSUED_AT));
+    }
+
+    private static Optional<Instant> instant(Object claim) {
+        if (claim instanceof Date date) {
+            return Optional.of(date.toInstant());
+        }
+        if (claim instanceof Number seconds) {
+            return Optional.of(Instant.ofEpochSecond(seconds.longValue()));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("token-revocation")
+public class TokenRevocationConfiguration {
+
+    private boolean enabled = true;
+
+    // Sizes the Bloom filter; more live revocations than this only raises the false-positive rate
+    private long expectedRevocations = 10_000;
+
+    private double falsePositiveRate = 0.01;
+
+    private Duration compactionInterval = Duration.ofMinutes(5);
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getExpectedRevocations() { return expectedRevocations; }
+    public void setExpectedRevocations(long expectedRevocations) { this.expectedRevocations = expectedRevocations; }
+
+    public double getFalsePositiveRate() { return falsePositiveRate; }
+    public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+
+    public Duration getCompactionInterval() { return compactionInterval; }
+    public void setCompactionInterval(Duration compactionInterval) { this.compactionInterval = compactionInterval; }
+}
@@ -0,0 +1,149 @@
+package com.example.security;
+
+import com.example.metrics.Layer;
+import com.example.service.UserChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.generator.AccessTokenConfiguration;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist of users whose already-issued access tokens must stop working, keyed by the
+ * uid claim. A Bloom filter answers the common "not revoked" case without touching the
+ * exact map; entries outlive their revocation only as long as a token could, after which
+ * compaction drops them and rebuilds the filter.
+ */
+@Singleton
+public class TokenRevocationStore {
+
+    // ConcurrentHashMap node, boxed Long key and Instant value
+    private static final long ENTRY_BYTES = 32 + 16 + 24;
+
+    private final boolean enabled;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+    private final Map<Long, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    @Inject
+    public TokenRevocationStore(TokenRevocationConfiguration configuration,
+                                AccessTokenConfiguration accessTokenConfiguration,
+                                MeterRegistry meterRegistry) {
+        this(configuration, Duration.ofSeconds(accessTokenConfiguration.getExpiration()), Clock.systemUTC(),
+            meterRegistry);
+    }
+
+    TokenRevocationStore(TokenRevocationConfiguration configuration, Duration tokenLifetime, Clock clock,
+                         MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled();
+        this.expectedRevocations = configuration.getExpectedRevocations();
+        this.falsePositiveRate = configuration.getFalsePositiveRate();
+        this.tokenLifetime = tokenLifetime;
+        this.clock = clock;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        bindMetrics(meterRegistry);
+    }
+
+    // Tokens issued before the uid claim existed cannot be matched and simply run out
+    public boolean isRevoked(Authentication authentication) {
+        if (!enabled) {
+            return false;
+        }
+        Optional<Long> userId = TokenClaims.userId(authentication);
+        if (userId.isEmpty()) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(userId.get())) {
+            return false;
+        }
+        Instant revokedAt = revoked.get(userId.get());
+        if (revokedAt == null) {
+            falsePositives.increment();
+            return false;
+        }
+        // iat has second precision, so a token from the same second as the revocation is rejected too
+        return TokenClaims.issuedAt(authentication)
+            .map(issuedAt -> !issuedAt.isAfter(revokedAt))
+            .orElse(true);
+    }
+
+    // Serialised with compaction so a revocation can never land in a filter that is being replaced
+    public synchronized void revoke(Long userId) {
+        if (enabled) {
+            revoked.put(userId, clock.instant());
+            filter.put(userId);
+        }
+    }
+
+    @TransactionalEventListener(TransactionalEventListener.TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.accessRevoked()) {
+            revoke(event.id());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${token-revocation.compaction-interval:5m}")
+    public synchronized void compact() {
+        Instant cutoff = clock.instant().minus(tokenLifetime);
+        revoked.values().removeIf(revokedAt -> revokedAt.isBefore(cutoff));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        compactions.increment();
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("token.revocation.entries", revoked, Map::size)
+            .tag(Layer.TAG, Layer.JWT)
+            .description("Users with a live token revocation")
+            .register(registry);
+        Gauge.builder("token.revocation.memory", this, store -> store.filter.sizeInBytes())
+            .tag(Layer.TAG, Layer.JWT)
+            .tag("structure", "bloom")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("token.revocation.memory", revoked, map -> map.size() * (double) ENTRY_BYTES)
+            .tag(Layer.TAG, Layer.JWT)
+            .tag("structure", "exact")
+            .description("Estimated heap held by the revocation structures")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("token.revocation.bloom.fill", this, store -> store.filter.fillRatio())
+            .tag(Layer.TAG, Layer.JWT)
+            .description("Fraction of Bloom filter bits set")
+            .register(registry);
+        FunctionCounter.builder("token.revocation.checks", checks, LongAdder::sum)
+            .tag(Layer.TAG, Layer.JWT)
+            .register(registry);
+        FunctionCounter.builder("token.revocation.false.positives", falsePositives, LongAdder::sum)
+            .tag(Layer.TAG, Layer.JWT)
+            .register(registry);
+        FunctionCounter.builder("token.revocation.compactions", compactions, LongAdder::sum)
+            .tag(Layer.TAG, Layer.JWT)
+            .register(registry);
+    }
+}
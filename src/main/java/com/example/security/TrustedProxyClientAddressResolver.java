@@ -0,0 +1,42 @@
+package com.example.security;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.util.DefaultHttpClientAddressResolver;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Client address for throttling and audit. A forwarding header is trusted only when
+ * micronaut.server.client-address-header names the one the proxy in front sets; the
+ * default resolver would otherwise take Forwarded or X-Forwarded-For from any caller,
+ * who could then present a new address on every login attempt.
+ */
+@Singleton
+@Replaces(DefaultHttpClientAddressResolver.class)
+public class TrustedProxyClientAddressResolver implements HttpClientAddressResolver {
+
+    private final boolean trustHeader;
+    private final HttpClientAddressResolver headerResolver;
+
+    @Inject
+    public TrustedProxyClientAddressResolver(HttpServerConfiguration serverConfiguration) {
+        this(serverConfiguration.getClientAddressHeader() != null,
+            new DefaultHttpClientAddressResolver(serverConfiguration));
+    }
+
+    TrustedProxyClientAddressResolver(boolean trustHeader, HttpClientAddressResolver headerResolver) {
+        this.trustHeader = trustHeader;
+        this.headerResolver = headerResolver;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public @Nullable String resolve(@NonNull HttpRequest request) {
+        return trustHeader ? headerResolver.resolve(request) : request.getRemoteAddress().getHostString();
+    }
+}
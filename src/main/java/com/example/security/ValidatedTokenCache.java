@@ -0,0 +1,117 @@
+package com.example.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micronaut.security.authentication.Authentication;
+import jakarta.inject.Singleton;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the {@link Authentication} of tokens that already passed signature and claims
+ * validation, so a repeat request skips parsing and the HMAC. Keys are SHA-256 digests,
+ * so bearer tokens are not retained, and each entry expires with the token's exp claim.
+ */
+@Singleton
+public class ValidatedTokenCache {
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<ByteBuffer, Entry> cache;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(ValidatedTokenCache::newDigest);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ValidatedTokenCache(TokenCacheConfiguration configuration) {
+        this(configuration, Clock.systemUTC());
+    }
+
+    ValidatedTokenCache(TokenCacheConfiguration configuration, Clock clock) {
+        this.enabled = configuration.isEnabled();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(configuration.getMaximumSize())
+            .expireAfter(new UntilExpiration())
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Authentication> get(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(key(token));
+        // Caffeine expiry is amortised; never hand out an entry past its exp
+        if (entry != null && clock.instant().isBefore(entry.expiresAt())) {
+            hits.increment();
+            return Optional.of(entry.authentication());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    // Tokens without an exp claim are never cached
+    public void put(String token, Authentication authentication) {
+        if (enabled) {
+            TokenClaims.expiration(authentication)
+                .filter(expiresAt -> clock.instant().isBefore(expiresAt))
+                .ifPresent(expiresAt -> cache.put(key(token), new Entry(authentication, expiresAt)));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public TokenCacheStats stats() {
+        return new TokenCacheStats(
+            enabled,
+            cache.estimatedSize(),
+            hits.sum(),
+            misses.sum(),
+            cache.stats().evictionCount());
+    }
+
+    private ByteBuffer key(String token) {
+        return ByteBuffer.wrap(digests.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(Authentication authentication, Instant expiresAt) {
+    }
+
+    private final class UntilExpiration implements Expiry<ByteBuffer, Entry> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
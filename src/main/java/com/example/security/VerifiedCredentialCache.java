@@ -0,0 +1,114 @@
+package com.example.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers, per username, an HMAC of the last secret that passed BCrypt so an
+ * identical repeat login can skip the hash. The MAC also covers the stored hash,
+ * so any password change invalidates the entry even without an explicit eviction.
+ * The key is random per process and never leaves memory.
+ */
+@Singleton
+public class VerifiedCredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedCredentialCache(CredentialCacheConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(configuration.getMaximumSize())
+            .expireAfterWrite(configuration.getTtl())
+            .recordStats()
+            .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean matches(String username, String hashedPassword, String rawPassword) {
+        if (!enabled) {
+            return false;
+        }
+        Entry entry = cache.getIfPresent(username);
+        if (entry != null && MessageDigest.isEqual(entry.mac(), mac(username, hashedPassword, rawPassword))) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void record(Long userId, String username, String hashedPassword, String rawPassword) {
+        if (enabled) {
+            cache.put(username, new Entry(userId, mac(username, hashedPassword, rawPassword)));
+        }
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    // Admin deletes only know the id; a scan is fine for that rare path
+    public void invalidateUserId(Long userId) {
+        cache.asMap().values().removeIf(entry -> Objects.equals(entry.userId(), userId));
+    }
+
+    public CredentialCacheStats stats() {
+        return new CredentialCacheStats(
+            enabled,
+            cache.estimatedSize(),
+            hits.sum(),
+            misses.sum(),
+            cache.stats().evictionCount());
+    }
+
+    private byte[] mac(String username, String hashedPassword, String rawPassword) {
+        Mac mac = macs.get();
+        update(mac, username);
+        update(mac, hashedPassword);
+        update(mac, rawPassword);
+        return mac.doFinal();
+    }
+
+    // Length-prefix each field so ("ab", "c") and ("a", "bc") cannot collide
+    private static void update(Mac mac, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        mac.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        mac.update(bytes);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record Entry(Long userId, byte[] mac) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("bulk-import")
+public class BulkImportConfiguration {
+
+    // Rows per uniqueness query, JDBC batch and commit; also caps passwords in flight
+    private int chunkSize = 1000;
+
+    // Kept apart from password-hashing.pool-size so an import cannot fill the login queue
+    private int hashingThreads = Runtime.getRuntime().availableProcessors();
+
+    // Getters and Setters
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getHashingThreads() { return hashingThreads; }
+    public void setHashingThreads(int hashingThreads) { this.hashingThreads = hashingThreads; }
+}
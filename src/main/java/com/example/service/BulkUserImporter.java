@@ -0,0 +1,317 @@
+package com.example.service;
+
+import com.example.dto.BulkImportResult;
+import com.example.dto.BulkImportResult.Status;
+import com.example.dto.BulkImportSummary;
+import com.example.dto.UserRegistrationRequest;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.UserRepository;
+import com.example.security.PasswordHasher;
+import io.micronaut.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates users from an NDJSON or CSV stream in fixed-size chunks: one pair of
+ * set-wise uniqueness queries, parallel BCrypt and one batched transaction per chunk.
+ * Each chunk commits on its own, so a failure only loses the rows of that chunk.
+ */
+@Singleton
+public class BulkUserImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkUserImporter.class);
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHasher passwordHasher;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final ExecutorService hashingExecutor;
+
+    public BulkUserImporter(UserRepository userRepository, RoleRegistry roleRegistry,
+                            PasswordHasher passwordHasher, JsonMapper jsonMapper, Validator validator,
+                            BulkImportConfiguration configuration) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHasher = passwordHasher;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, configuration.getChunkSize());
+
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(Math.max(1, configuration.getHashingThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public BulkImportSummary importUsers(BufferedReader reader, Format format, Consumer<BulkImportResult> results) {
+        return importUsers(reader, format, results, () -> false);
+    }
+
+    /**
+     * Stops before the next chunk once {@code cancelled} is true; chunks already committed stay.
+     */
+    public BulkImportSummary importUsers(BufferedReader reader, Format format, Consumer<BulkImportResult> results,
+                                         BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        Run run = new Run(results);
+        try {
+            Map<String, Integer> columns = format == Format.CSV ? csvHeader(reader.readLine()) : null;
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = format == Format.CSV ? 1 : 0;
+            String line;
+            while (!cancelled.getAsBoolean() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, line, columns));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+            if (cancelled.getAsBoolean()) {
+                LOG.info("Bulk import cancelled after {} rows", run.total);
+            } else if (!chunk.isEmpty()) {
+                importChunk(chunk, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new BulkImportSummary(
+            run.total, run.created, run.duplicates, run.invalid, run.failed,
+            elapsedNanos / 1_000_000,
+            seconds == 0 ? 0.0 : run.created / seconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private void importChunk(List<Row> chunk, Run run) {
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error() != null) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.INVALID, row.error()));
+            } else if (!run.usernames.add(row.request().getUsername())) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.DUPLICATE, "Username repeated in import"));
+            } else if (!run.emails.add(row.request().getEmail())) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.DUPLICATE, "Email repeated in import"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>(userRepository.findUsernameByUsernameIn(
+            candidates.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findEmailByEmailIn(
+            candidates.stream().map(row -> row.request().getEmail()).toList()));
+
+        List<Row> accepted = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (takenUsernames.contains(row.request().getUsername())) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.DUPLICATE, "Username already exists"));
+            } else if (takenEmails.contains(row.request().getEmail())) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.DUPLICATE, "Email already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<String>> hashes = accepted.stream()
+            .map(row -> passwordHasher.hashAsync(row.request().getPassword(), hashingExecutor))
+            .toList();
+        CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+
+        Set<Role> roles = roleRegistry.find(Role.RoleName.USER).map(Set::of).orElse(Set.of());
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            UserRegistrationRequest request = accepted.get(i).request();
+            User user = new User(request.getUsername(), request.getEmail(), hashes.get(i).join());
+            user.setFirstName(request.getFirstName());
+            user.setLastName(request.getLastName());
+            user.setCreatedAt(createdAt);
+            user.setRoles(new HashSet<>(roles));
+            users.add(user);
+        }
+
+        try {
+            // One transaction per chunk; pooled ids let Hibernate send it as JDBC batches
+            userRepository.saveAll(users);
+            for (Row row : accepted) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.CREATED, null));
+            }
+        } catch (RuntimeException e) {
+            // Most likely a concurrent registration took one of the names after our check
+            LOG.warn("Bulk import chunk of {} rows rolled back", accepted.size(), e);
+            for (Row row : accepted) {
+                run.report(new BulkImportResult(row.line(), username(row), Status.FAILED, "Chunk rolled back"));
+            }
+        }
+    }
+
+    private Row parse(long line, String text, Map<String, Integer> columns) {
+        UserRegistrationRequest request;
+        try {
+            request = columns == null
+                ? jsonMapper.readValue(text, UserRegistrationRequest.class)
+                : fromCsv(splitCsv(text), columns);
+        } catch (IOException | RuntimeException e) {
+            return new Row(line, null, "Malformed row");
+        }
+        if (request == null) {
+            return new Row(line, null, "Malformed row");
+        }
+
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return new Row(line, request, message);
+        }
+        return new Row(line, request, null);
+    }
+
+    private static Map<String, Integer> csvHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static UserRegistrationRequest fromCsv(List<String> fields, Map<String, Integer> columns) {
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername(field(fields, columns, "username"));
+        request.setEmail(field(fields, columns, "email"));
+        request.setPassword(field(fields, columns, "password"));
+        request.setFirstName(field(fields, columns, "firstname"));
+        request.setLastName(field(fields, columns, "lastname"));
+        return request;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields: optional double quotes, "" escapes a quote inside a quoted field
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String username(Row row) {
+        return row.request() == null ? null : row.request().getUsername();
+    }
+
+    private record Row(long line, UserRegistrationRequest request, String error) {
+    }
+
+    private static final class Run {
+
+        private final Consumer<BulkImportResult> results;
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private long total;
+        private long created;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+
+        Run(Consumer<BulkImportResult> results) {
+            this.results = results;
+        }
+
+        void report(BulkImportResult result) {
+            total++;
+            switch (result.status()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+            results.accept(result);
+        }
+    }
+}
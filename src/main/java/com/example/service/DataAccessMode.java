@@ -0,0 +1,16 @@
+package com.example.service;
+
+/**
+ * Values of {@value #PROPERTY}: which stack serves user reads and profile writes.
+ * Registration and bulk import stay on JPA in both modes, since Hibernate owns the
+ * pooled id allocator.
+ */
+public final class DataAccessMode {
+
+    public static final String PROPERTY = "data-access.mode";
+    public static final String JPA = "jpa";
+    public static final String R2DBC = "r2dbc";
+
+    private DataAccessMode() {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Raised when a write hits one of the unique constraints on {@code users}.
+ * Constraint names are matched by substring because drivers decorate them
+ * (H2 appends an index suffix, MySQL prefixes the table).
+ */
+public class DuplicateUserException extends RuntimeException {
+
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    public enum Field {
+        USERNAME,
+        EMAIL
+    }
+
+    private final Field field;
+
+    public DuplicateUserException(Field field, Throwable cause) {
+        super(field == Field.USERNAME ? "Username already exists" : "Email already exists", cause);
+        this.field = field;
+    }
+
+    public Field getField() { return field; }
+
+    // Returns the translated exception, or the original when no user constraint was violated
+    static RuntimeException translate(RuntimeException error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName() + " " + violation.getSQLException().getMessage();
+                name = name.toLowerCase(Locale.ROOT);
+                if (name.contains(USERNAME_CONSTRAINT)) {
+                    return new DuplicateUserException(Field.USERNAME, error);
+                }
+                if (name.contains(EMAIL_CONSTRAINT)) {
+                    return new DuplicateUserException(Field.EMAIL, error);
+                }
+                return error;
+            }
+        }
+        return error;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserSnapshot;
+import com.example.dto.UserUpdateRequest;
+import com.example.entity.AuditEvent;
+import com.example.entity.User;
+import com.example.execution.RequestExecutorFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * JPA implementation: each call runs on the request executor. Profile changes are audited
+ * here, after the {@link UserService} transaction has committed.
+ */
+@Singleton
+@Requires(property = DataAccessMode.PROPERTY, value = DataAccessMode.JPA, defaultValue = DataAccessMode.JPA)
+public class JpaReactiveUserService implements ReactiveUserService {
+
+    private final UserService userService;
+    private final Scheduler scheduler;
+
+    public JpaReactiveUserService(UserService userService,
+                                  @Named(RequestExecutorFactory.REQUEST) ExecutorService requestExecutor) {
+        this.userService = userService;
+        this.scheduler = Schedulers.fromExecutorService(requestExecutor);
+    }
+
+    @Override
+    public Mono<UserSnapshot> findSnapshotByUsername(String username) {
+        return blocking(() -> userService.findSnapshotByUsername(username).orElse(null));
+    }
+
+    @Override
+    public Mono<UserSnapshot> findSnapshotById(Long id) {
+        return blocking(() -> userService.findSnapshotById(id).orElse(null));
+    }
+
+    @Override
+    public Mono<UserPage> findUserPage(@Nullable String cursor, @Nullable Integer limit) {
+        return blocking(() -> userService.findUserPage(cursor, limit));
+    }
+
+    @Override
+    public Mono<UserSnapshot> updateUser(Long id, UserUpdateRequest update) {
+        return blocking(() -> {
+            User saved = userService.updateUser(id, update);
+            userService.audit(AuditEvent.Type.UPDATED, saved.getId(), saved.getUsername());
+            return UserSnapshot.of(saved);
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long id) {
+        return blocking(() -> {
+            String username = userService.deleteUser(id);
+            userService.audit(AuditEvent.Type.DELETED, id, username);
+            return null;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> replacePasswordHash(UserSnapshot user, String newHash) {
+        return blocking(() -> userService.replacePasswordHash(user, newHash));
+    }
+
+    // JDBC and Hibernate block, so run them off the event loop
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("login-activity")
+public class LoginActivityConfiguration {
+
+    private boolean enabled = true;
+
+    // Also the most activity a crash can lose
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    // Users per JDBC batch and transaction
+    private int batchSize = 500;
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+}
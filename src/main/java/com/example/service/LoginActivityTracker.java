@@ -0,0 +1,160 @@
+package com.example.service;
+
+import com.example.dto.LoginActivity;
+import com.example.entity.User;
+import com.example.metrics.Layer;
+import com.example.repository.LoginActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for {@link User#getLastLoginAt()} and {@link User#getLoginCount()}. A login
+ * only bumps a count and a latest-timestamp for its user in memory; each flush sends
+ * everything accumulated since the previous one as a single JDBC batch, one row per active
+ * user however often they logged in. A crash loses at most one flush interval.
+ * <p>
+ * Logins update their user's entry inside {@link ConcurrentHashMap#compute} and a flush
+ * takes the entry out with {@link ConcurrentHashMap#remove}, both under the same bin lock,
+ * so every login lands either in the batch being written or in a fresh entry for the next.
+ */
+@Singleton
+public class LoginActivityTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginActivityTracker.class);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final LoginActivityRepository loginActivityRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Clock clock;
+    private final Map<Long, Activity> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedUsers;
+    private final Counter failedUsers;
+
+    @Inject
+    public LoginActivityTracker(LoginActivityConfiguration configuration, LoginActivityRepository loginActivityRepository,
+                                EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this(configuration, loginActivityRepository, entityManagerFactory, Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    LoginActivityTracker(LoginActivityConfiguration configuration, LoginActivityRepository loginActivityRepository,
+                         EntityManagerFactory entityManagerFactory, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled();
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+        this.loginActivityRepository = loginActivityRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.clock = clock;
+
+        Gauge.builder("login.activity.pending", pending, Map::size)
+            .tag(Layer.TAG, Layer.SERVICE)
+            .description("Users with logins not yet written to the database")
+            .register(meterRegistry);
+        this.flushedUsers = Counter.builder("login.activity.flushed")
+            .tag(Layer.TAG, Layer.SERVICE)
+            .tag("result", "written")
+            .register(meterRegistry);
+        this.failedUsers = Counter.builder("login.activity.flushed")
+            .tag(Layer.TAG, Layer.SERVICE)
+            .tag("result", "retried")
+            .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        pending.compute(userId, (id, activity) -> activity == null ? new Activity(1, now) : activity.add(1, now));
+    }
+
+    @Scheduled(fixedDelay = "${login-activity.flush-interval:10s}")
+    public synchronized void flush() {
+        List<LoginActivity> batch = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            Activity activity = pending.remove(userId);
+            if (activity == null) {
+                continue;
+            }
+            batch.add(new LoginActivity(userId, activity.logins, toDateTime(activity.lastLoginMillis)));
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    int pendingUsers() {
+        return pending.size();
+    }
+
+    private void write(List<LoginActivity> batch) {
+        try {
+            loginActivityRepository.addLogins(batch);
+        } catch (RuntimeException e) {
+            // Kept in memory for the next flush rather than lost
+            LOG.warn("Could not write login activity of {} users, retrying on the next flush", batch.size(), e);
+            for (LoginActivity row : batch) {
+                restore(row.userId(), row.logins(), row.lastLoginAt().atZone(clock.getZone()).toInstant().toEpochMilli());
+            }
+            failedUsers.increment(batch.size());
+            return;
+        }
+        flushedUsers.increment(batch.size());
+        // The batch bypassed Hibernate, so drop the cached copies of exactly these users
+        for (LoginActivity row : batch) {
+            entityManagerFactory.getCache().evict(User.class, row.userId());
+        }
+    }
+
+    private void restore(Long userId, long logins, long lastLoginMillis) {
+        pending.compute(userId, (id, activity) ->
+            activity == null ? new Activity(logins, lastLoginMillis) : activity.add(logins, lastLoginMillis));
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    // Only touched inside pending.compute, which serialises access per user
+    private static final class Activity {
+
+        private long logins;
+        private long lastLoginMillis;
+
+        private Activity(long logins, long lastLoginMillis) {
+            this.logins = logins;
+            this.lastLoginMillis = lastLoginMillis;
+        }
+
+        private Activity add(long moreLogins, long loginMillis) {
+            logins += moreLogins;
+            lastLoginMillis = Math.max(lastLoginMillis, loginMillis);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. Clients must treat it as a string;
+ * the encoding is versioned so the seek key can change without breaking old links.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "v1:";
+    private static final String KEY_PREFIX = "k1:";
+
+    private PageCursor() {}
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Seek key of a page ordered by (value, id), as search results are
+    public static String encode(String lastValue, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((KEY_PREFIX + lastId + ":" + lastValue).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Key decodeKey(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':', KEY_PREFIX.length());
+            if (!value.startsWith(KEY_PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Key(value.substring(separator + 1),
+                Long.parseLong(value.substring(KEY_PREFIX.length(), separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public record Key(String value, long id) {
+    }
+}
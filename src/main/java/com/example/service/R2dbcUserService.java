@@ -0,0 +1,161 @@
+package com.example.service;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserRoleRow;
+import com.example.dto.UserSnapshot;
+import com.example.entity.AuditEvent;
+import com.example.dto.UserUpdateRequest;
+import com.example.execution.RequestExecutorFactory;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import com.example.repository.ReactiveUserRepository;
+import com.example.security.TokenRevocationStore;
+import com.example.security.VerifiedCredentialCache;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.reactive.ReactorReactiveTransactionOperations;
+import io.r2dbc.spi.Connection;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * R2DBC implementation: no thread is held while a query is in flight. Snapshots share
+ * the {@link UserPrincipalCache} with the JPA path. Writes here run outside any JPA
+ * transaction, so after-commit listeners never see their events; whatever must happen
+ * once a write is durable is applied directly when the reactive write completes. The
+ * search index refresh reads through JPA, so it is handed to the request executor.
+ */
+@Singleton
+@Requires(property = DataAccessMode.PROPERTY, value = DataAccessMode.R2DBC)
+@Measured(Layer.SERVICE)
+public class R2dbcUserService implements ReactiveUserService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(R2dbcUserService.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactorReactiveTransactionOperations<Connection> transactionOperations;
+    private final UserService userService;
+    private final UserPrincipalCache principalCache;
+    private final VerifiedCredentialCache credentialCache;
+    private final TokenRevocationStore revocationStore;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final UserSearchIndex searchIndex;
+    private final Scheduler scheduler;
+
+    public R2dbcUserService(ReactiveUserRepository userRepository,
+                            ReactorReactiveTransactionOperations<Connection> transactionOperations,
+                            UserService userService, UserPrincipalCache principalCache,
+                            VerifiedCredentialCache credentialCache, TokenRevocationStore revocationStore,
+                            SecondLevelCacheEvictor cacheEvictor, UserSearchIndex searchIndex,
+                            @Named(RequestExecutorFactory.REQUEST) ExecutorService requestExecutor) {
+        this.userRepository = userRepository;
+        this.transactionOperations = transactionOperations;
+        this.userService = userService;
+        this.principalCache = principalCache;
+        this.credentialCache = credentialCache;
+        this.revocationStore = revocationStore;
+        this.cacheEvictor = cacheEvictor;
+        this.searchIndex = searchIndex;
+        this.scheduler = Schedulers.fromExecutorService(requestExecutor);
+    }
+
+    @Override
+    public Mono<UserSnapshot> findSnapshotByUsername(String username) {
+        Optional<UserSnapshot> cached = principalCache.getIfPresent(username);
+        return cached.isPresent()
+            ? Mono.just(cached.get())
+            : snapshot(userRepository.findRoleRowsByUsername(username)).doOnNext(principalCache::put);
+    }
+
+    @Override
+    public Mono<UserSnapshot> findSnapshotById(Long id) {
+        Optional<UserSnapshot> cached = principalCache.getIfPresent(id);
+        return cached.isPresent()
+            ? Mono.just(cached.get())
+            : snapshot(userRepository.findRoleRowsById(id)).doOnNext(principalCache::put);
+    }
+
+    @Override
+    public Mono<UserPage> findUserPage(@Nullable String cursor, @Nullable Integer limit) {
+        return Mono.defer(() -> {
+            long afterId = cursor == null ? 0L : PageCursor.decode(cursor);
+            int pageSize = userService.pageSize(limit);
+            return userRepository.findRoleRowsPage(afterId, pageSize)
+                .collectList()
+                .map(rows -> {
+                    List<UserSnapshot> items = UserSnapshot.fromPageRows(rows);
+                    String nextCursor = items.size() == pageSize
+                        ? PageCursor.encode(items.get(items.size() - 1).id()) : null;
+                    return new UserPage(items, nextCursor);
+                });
+        });
+    }
+
+    @Override
+    public Mono<UserSnapshot> updateUser(Long id, UserUpdateRequest update) {
+        return snapshot(userRepository.findRoleRowsById(id))
+            .switchIfEmpty(Mono.error(UserNotFoundException::new))
+            .flatMap(current -> userRepository.updateProfile(id, update.getFirstName(),
+                    update.getLastName(), update.getEmail(), update.getEnabled())
+                .doOnSuccess(updated -> {
+                    credentialCache.invalidate(current.username());
+                    committed(id, current.username(), current.enabled() && Boolean.FALSE.equals(update.getEnabled()));
+                    userService.audit(AuditEvent.Type.UPDATED, id, current.username());
+                }))
+            .then(Mono.defer(() -> findSnapshotById(id)));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long id) {
+        // The username is read first so its cache entry and replica stickiness go with the row
+        return snapshot(userRepository.findRoleRowsById(id))
+            .map(user -> Optional.of(user.username()))
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(username -> Flux.from(transactionOperations.withTransaction(status ->
+                    Flux.concat(userRepository.deleteRoles(id), userRepository.deleteUser(id))))
+                .then(Mono.fromRunnable(() -> {
+                    credentialCache.invalidateUserId(id);
+                    committed(id, username.orElse(null), true);
+                    userService.audit(AuditEvent.Type.DELETED, id, username.orElse(null));
+                })));
+    }
+
+    @Override
+    public Mono<Boolean> replacePasswordHash(UserSnapshot user, String newHash) {
+        return userRepository.updatePasswordHash(user.id(), user.passwordHash(), newHash)
+            .map(updated -> updated == 1)
+            .doOnNext(replaced -> {
+                if (replaced) {
+                    credentialCache.invalidate(user.username());
+                    committed(user.id(), user.username(), false);
+                }
+            });
+    }
+
+    // Called once the write is durable: the update auto-commits, the delete after its transaction
+    private void committed(Long id, String username, boolean accessRevoked) {
+        cacheEvictor.evict(id);
+        userService.userChanged(id, username, accessRevoked);
+        if (accessRevoked) {
+            revocationStore.revoke(id);
+        }
+        // The index re-reads the user through JPA, which would block this I/O thread
+        Mono.fromRunnable(() -> searchIndex.changed(id))
+            .subscribeOn(scheduler)
+            .subscribe(null, e -> LOG.warn("Could not refresh user {} in the search index", id, e));
+    }
+
+    private static Mono<UserSnapshot> snapshot(Flux<UserRoleRow> rows) {
+        return rows.collectList().flatMap(list -> Mono.justOrEmpty(UserSnapshot.fromRows(list)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.service;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserSnapshot;
+import com.example.dto.UserUpdateRequest;
+import io.micronaut.core.annotation.Nullable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking view of the user read and profile-write paths. The implementation is
+ * chosen by {@value DataAccessMode#PROPERTY}: JPA offloaded to the request executor,
+ * or R2DBC end to end.
+ */
+public interface ReactiveUserService {
+
+    Mono<UserSnapshot> findSnapshotByUsername(String username);
+
+    Mono<UserSnapshot> findSnapshotById(Long id);
+
+    // Signals IllegalArgumentException for a malformed cursor
+    Mono<UserPage> findUserPage(@Nullable String cursor, @Nullable Integer limit);
+
+    // Signals UserNotFoundException when there is no such user
+    Mono<UserSnapshot> updateUser(Long id, UserUpdateRequest update);
+
+    Mono<Void> deleteUser(Long id);
+
+    // Emits false when the user's hash changed since the snapshot was read
+    Mono<Boolean> replacePasswordHash(UserSnapshot user, String newHash);
+}
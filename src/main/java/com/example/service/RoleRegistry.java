@@ -0,0 +1,60 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.repository.RoleRepository;
+import jakarta.inject.Singleton;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory view of the fixed {@code roles} table. The rows are loaded once and handed
+ * out as shared, detached references; callers may link them to users but must not mutate them.
+ * Call {@link #refresh()} after changing the table out of band.
+ */
+@Singleton
+public class RoleRegistry {
+
+    private static final Map<Role.RoleName, String> AUTHORITIES = new EnumMap<>(Role.RoleName.class);
+
+    static {
+        for (Role.RoleName name : Role.RoleName.values()) {
+            AUTHORITIES.put(name, "ROLE_" + name.name());
+        }
+    }
+
+    private final RoleRepository roleRepository;
+    private volatile Map<Role.RoleName, Role> roles;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public Optional<Role> find(Role.RoleName name) {
+        return Optional.ofNullable(roles().get(name));
+    }
+
+    public Map<Role.RoleName, Role> all() {
+        return roles();
+    }
+
+    public synchronized Map<Role.RoleName, Role> refresh() {
+        Map<Role.RoleName, Role> loaded = new EnumMap<>(Role.RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = Collections.unmodifiableMap(loaded);
+        return roles;
+    }
+
+    public static String authority(Role.RoleName name) {
+        return AUTHORITIES.get(name);
+    }
+
+    private Map<Role.RoleName, Role> roles() {
+        Map<Role.RoleName, Role> current = roles;
+        return current != null ? current : refresh();
+    }
+}
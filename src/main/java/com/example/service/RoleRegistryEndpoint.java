@@ -0,0 +1,29 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.Map;
+
+@Endpoint(id = "roles")
+public class RoleRegistryEndpoint {
+
+    private final RoleRegistry roleRegistry;
+
+    public RoleRegistryEndpoint(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Read
+    public Map<Role.RoleName, Role> roles() {
+        return roleRegistry.all();
+    }
+
+    // POST /roles after an admin changes the roles table
+    @Write
+    public Map<Role.RoleName, Role> refresh() {
+        return roleRegistry.refresh();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.service;
+
+import com.example.entity.User;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Singleton;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+/**
+ * R2DBC writes bypass Hibernate, so its second-level cache would keep serving the old
+ * row to the JPA paths that remain in that mode. Evicts the changed user's entity and
+ * roles collection; the username natural id never changes and needs no eviction.
+ * {@link R2dbcUserService} calls {@link #evict} itself, as its writes commit outside any
+ * JPA transaction and the after-commit listener is skipped for them.
+ */
+@Singleton
+@Requires(property = DataAccessMode.PROPERTY, value = DataAccessMode.R2DBC)
+public class SecondLevelCacheEvictor {
+
+    private static final String ROLES_COLLECTION = User.class.getName() + ".roles";
+
+    private final BeanProvider<SessionFactory> sessionFactory;
+
+    public SecondLevelCacheEvictor(BeanProvider<SessionFactory> sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @TransactionalEventListener(TransactionalEventListener.TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.id());
+    }
+
+    public void evict(Long id) {
+        Cache cache = sessionFactory.get().getCache();
+        cache.evictEntityData(User.class, id);
+        cache.evictCollectionData(ROLES_COLLECTION, id);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("user-cache")
+public class UserCacheConfiguration {
+
+    private boolean enabled = true;
+
+    // Applies to each of the username and id views
+    private long maximumSize = 100_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaximumSize() { return maximumSize; }
+    public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,19 @@
+package com.example.service;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+@Endpoint(id = "usercache")
+public class UserCacheEndpoint {
+
+    private final UserPrincipalCache principalCache;
+
+    public UserCacheEndpoint(UserPrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Read
+    public UserCacheStats stats() {
+        return principalCache.stats();
+    }
+}
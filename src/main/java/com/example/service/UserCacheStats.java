@@ -0,0 +1,15 @@
+package com.example.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record UserCacheStats(boolean enabled,
+                             long maximumSize,
+                             long usernameEntries,
+                             long idEntries,
+                             long hits,
+                             long misses,
+                             double hitRate,
+                             long evictions,
+                             double averageLoadMillis) {
+}
@@ -0,0 +1,13 @@
+package com.example.service;
+
+/**
+ * Published by {@link UserService} whenever a user row is created, modified or removed.
+ * {@code accessRevoked} is set when the user was deleted or disabled, so tokens issued
+ * until now must stop working.
+ */
+public record UserChangedEvent(Long id, String username, boolean accessRevoked) {
+
+    public UserChangedEvent(Long id, String username) {
+        this(id, username, false);
+    }
+}
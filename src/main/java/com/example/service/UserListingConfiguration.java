@@ -0,0 +1,19 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("user-listing")
+public class UserListingConfiguration {
+
+    private int defaultPageSize = 50;
+
+    // Upper bound on rows (and role joins) materialised per query
+    private int maxPageSize = 500;
+
+    // Getters and Setters
+    public int getDefaultPageSize() { return defaultPageSize; }
+    public void setDefaultPageSize(int defaultPageSize) { this.defaultPageSize = defaultPageSize; }
+
+    public int getMaxPageSize() { return maxPageSize; }
+    public void setMaxPageSize(int maxPageSize) { this.maxPageSize = maxPageSize; }
+}
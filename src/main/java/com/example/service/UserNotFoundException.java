@@ -0,0 +1,8 @@
+package com.example.service;
+
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException() {
+        super("User not found");
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.service;
+
+import com.example.dto.UserSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Singleton;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of immutable {@link UserSnapshot}s, reachable by username and by id.
+ * Writers invalidate synchronously and again once their transaction commits, so a reader
+ * that reloaded the old row in between cannot keep it alive.
+ */
+@Singleton
+public class UserPrincipalCache {
+
+    private final boolean enabled;
+    private final long maximumSize;
+    private final Cache<String, UserSnapshot> byUsername;
+    private final Cache<Long, UserSnapshot> byId;
+
+    public UserPrincipalCache(UserCacheConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.maximumSize = configuration.getMaximumSize();
+        this.byUsername = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(configuration.getTtl())
+            .recordStats()
+            .build();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(configuration.getTtl())
+            .recordStats()
+            .build();
+    }
+
+    public Optional<UserSnapshot> getByUsername(String username, Function<String, Optional<UserSnapshot>> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        UserSnapshot snapshot = byUsername.get(username, key -> loader.apply(key).orElse(null));
+        if (snapshot != null) {
+            byId.put(snapshot.id(), snapshot);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    public Optional<UserSnapshot> getById(Long id, Function<Long, Optional<UserSnapshot>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        UserSnapshot snapshot = byId.get(id, key -> loader.apply(key).orElse(null));
+        if (snapshot != null) {
+            byUsername.put(snapshot.username(), snapshot);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    // Reactive loaders cannot run inside a cache computation, so they look up and publish separately
+    public Optional<UserSnapshot> getIfPresent(String username) {
+        return enabled ? Optional.ofNullable(byUsername.getIfPresent(username)) : Optional.empty();
+    }
+
+    public Optional<UserSnapshot> getIfPresent(Long id) {
+        return enabled ? Optional.ofNullable(byId.getIfPresent(id)) : Optional.empty();
+    }
+
+    public void put(UserSnapshot snapshot) {
+        if (enabled) {
+            byUsername.put(snapshot.username(), snapshot);
+            byId.put(snapshot.id(), snapshot);
+        }
+    }
+
+    public void invalidate(Long id, String username) {
+        if (id != null) {
+            UserSnapshot removed = byId.asMap().remove(id);
+            if (removed != null) {
+                byUsername.invalidate(removed.username());
+            } else if (username == null) {
+                // The id view may have been evicted on its own; fall back to a scan
+                byUsername.asMap().values().removeIf(snapshot -> Objects.equals(snapshot.id(), id));
+            }
+        }
+        if (username != null) {
+            UserSnapshot removed = byUsername.asMap().remove(username);
+            if (removed != null) {
+                byId.invalidate(removed.id());
+            }
+        }
+    }
+
+    @TransactionalEventListener(TransactionalEventListener.TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.id(), event.username());
+    }
+
+    public UserCacheStats stats() {
+        CacheStats stats = byUsername.stats().plus(byId.stats());
+        return new UserCacheStats(
+            enabled,
+            maximumSize,
+            byUsername.estimatedSize(),
+            byId.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount(),
+            stats.averageLoadPenalty() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.service;
+
+import com.example.entity.User;
+import com.example.execution.Admitted;
+import com.example.repository.UserRepository;
+import jakarta.inject.Singleton;
+import jakarta.transaction.Transactional;
+
+import java.util.function.Consumer;
+
+/**
+ * Inserts a registered user in a transaction that also covers {@code afterInsert}, so the
+ * change event published there reaches the after-commit listeners. Kept apart from
+ * {@link UserService#registerUser} so its BCrypt work stays outside both the transaction
+ * and the admission permit.
+ */
+@Singleton
+public class UserRegistrationWriter {
+
+    private final UserRepository userRepository;
+
+    public UserRegistrationWriter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // No existence pre-checks: the unique constraints decide, in the same round trip as the insert
+    @Admitted
+    @Transactional
+    public User insert(User user, Consumer<User> afterInsert) {
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (RuntimeException e) {
+            throw DuplicateUserException.translate(e);
+        }
+        afterInsert.accept(saved);
+        return saved;
+    }
+}
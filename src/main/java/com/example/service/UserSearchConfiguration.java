@@ -0,0 +1,28 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("user-search")
+public class UserSearchConfiguration {
+
+    // Serve searches from an in-memory sorted index instead of the database; about 0.5 KB per user
+    private boolean inMemoryIndex = false;
+
+    // Full rebuilds pick up writes that publish no change event, such as bulk imports
+    private Duration rebuildInterval = Duration.ofMinutes(15);
+
+    // Users loaded per query while rebuilding
+    private int rebuildBatchSize = 1000;
+
+    // Getters and Setters
+    public boolean isInMemoryIndex() { return inMemoryIndex; }
+    public void setInMemoryIndex(boolean inMemoryIndex) { this.inMemoryIndex = inMemoryIndex; }
+
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+
+    public int getRebuildBatchSize() { return rebuildBatchSize; }
+    public void setRebuildBatchSize(int rebuildBatchSize) { this.rebuildBatchSize = rebuildBatchSize; }
+}
@@ -0,0 +1,44 @@
+package com.example.service;
+
+import com.example.dto.UserSnapshot;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Columns the admin search matches prefixes on. Each is the leading column of an index
+ * that ends in the id, so a prefix range scan returns rows already in keyset order.
+ */
+public enum UserSearchField {
+
+    USERNAME("username", UserSnapshot::username),
+    EMAIL("email", UserSnapshot::email),
+    FIRST_NAME("firstName", UserSnapshot::firstName),
+    LAST_NAME("lastName", UserSnapshot::lastName);
+
+    private final String attribute;
+    private final Function<UserSnapshot, String> value;
+
+    UserSearchField(String attribute, Function<UserSnapshot, String> value) {
+        this.attribute = attribute;
+        this.value = value;
+    }
+
+    // The entity attribute; also the name clients pass as ?field=
+    public String attribute() {
+        return attribute;
+    }
+
+    public String valueOf(UserSnapshot user) {
+        return value.apply(user);
+    }
+
+    public static UserSearchField parse(String name) {
+        for (UserSearchField field : values()) {
+            if (field.attribute.equalsIgnoreCase(name) || field.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown search field: " + name);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.service;
+
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserSnapshot;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.metrics.Layer;
+import com.example.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-memory typeahead index: one sorted set of lower-cased (value, id) keys per
+ * {@link UserSearchField}, so a prefix search is a seek plus a short ordered walk with no
+ * I/O. Holds ids and search keys only; result pages are materialised by the caller.
+ * Between periodic full rebuilds, which are built aside and swapped in so searches never
+ * see a half-built index, each committed change re-reads its user from the primary: JPA
+ * writes through the after-commit listener, R2DBC writes by calling {@link #changed}.
+ */
+@Singleton
+public class UserSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+    private final UserRepository userRepository;
+    private final UserSnapshotLoader snapshotLoader;
+    private final ReplicaRouting replicaRouting;
+
+    private volatile Tables tables;
+    // Users changed while a rebuild runs; their rows may have been read before the change
+    private volatile Set<Long> changedDuringRebuild;
+    private final AtomicLong refreshTickets = new AtomicLong();
+
+    public UserSearchIndex(UserSearchConfiguration configuration, UserRepository userRepository,
+                           UserSnapshotLoader snapshotLoader, ReplicaRouting replicaRouting,
+                           MeterRegistry meterRegistry) {
+        this.enabled = configuration.isInMemoryIndex();
+        this.rebuildBatchSize = Math.max(1, configuration.getRebuildBatchSize());
+        this.userRepository = userRepository;
+        this.snapshotLoader = snapshotLoader;
+        this.replicaRouting = replicaRouting;
+        Gauge.builder("user.search.index.size", this, UserSearchIndex::size)
+            .tag(Layer.TAG, Layer.SERVICE)
+            .description("Users in the in-memory search index")
+            .register(meterRegistry);
+    }
+
+    // False until the first rebuild completes; searches go to the database until then
+    public boolean isReady() {
+        return tables != null;
+    }
+
+    public int size() {
+        Tables current = tables;
+        return current == null ? 0 : current.entries.size();
+    }
+
+    /**
+     * Up to {@code limit} matches in (value, id) order, strictly after {@code after}.
+     * Matching and ordering are case-insensitive.
+     */
+    public List<Hit> search(UserSearchQuery query, @Nullable PageCursor.Key after, int limit) {
+        Tables current = tables;
+        if (current == null) {
+            throw new IllegalStateException("Search index is not built yet");
+        }
+        String prefix = normalize(query.prefix());
+        Key from = after == null ? new Key(prefix, Long.MIN_VALUE) : new Key(normalize(after.value()), after.id());
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        for (Key key : current.keys.get(query.field()).tailSet(from, after == null)) {
+            if (!key.value().startsWith(prefix)) {
+                break;
+            }
+            Entry entry = current.entries.get(key.id());
+            if (entry != null && entry.matches(query)) {
+                hits.add(new Hit(key.id(), key.value()));
+                if (hits.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Scheduled(initialDelay = "1s", fixedDelay = "${user-search.rebuild-interval:15m}")
+    void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        Tables rebuilt = new Tables();
+        try {
+            long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = userRepository.findIdByIdGreaterThanOrderById(afterId, Pageable.from(0, rebuildBatchSize));
+                if (!ids.isEmpty()) {
+                    for (User user : userRepository.findByIdInOrderById(ids)) {
+                        rebuilt.put(UserSnapshot.of(user));
+                    }
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            // Keep serving the previous index, or the database, until the next attempt
+            changedDuringRebuild = null;
+            throw e;
+        }
+
+        Set<Long> changed;
+        synchronized (this) {
+            tables = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        changed.forEach(this::refresh);
+        LOG.info("Rebuilt user search index with {} users in {} ms", rebuilt.entries.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(TransactionalEventListener.TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        changed(event.id());
+    }
+
+    // For writes that commit outside a JPA transaction, where the listener above is skipped
+    void changed(@Nullable Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.add(id);
+        }
+        refresh(id);
+    }
+
+    void refresh(Long id) {
+        // Taken after the change committed, so a later ticket reads a row at least as new
+        long ticket = refreshTickets.incrementAndGet();
+        // A replica may not have the change yet, and its stale row would stay until the next rebuild
+        ReplicaRouting.Route previous = replicaRouting.bind(ReplicaRouting.Route.PRIMARY);
+        Optional<UserSnapshot> user;
+        try {
+            user = snapshotLoader.findById(id);
+        } finally {
+            replicaRouting.restore(previous);
+        }
+        synchronized (this) {
+            Tables current = tables;
+            if (current == null) {
+                return;
+            }
+            // A slower read for an earlier change must not overwrite what a later one applied
+            Long applied = current.appliedTickets.get(id);
+            if (applied != null && applied > ticket) {
+                return;
+            }
+            current.appliedTickets.put(id, ticket);
+            if (user.isPresent()) {
+                current.put(user.get());
+            } else {
+                current.remove(id);
+            }
+        }
+    }
+
+    private static String normalize(@Nullable String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    public record Hit(long id, String value) {
+    }
+
+    private record Key(String value, long id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byValue = value.compareTo(other.value);
+            return byValue != 0 ? byValue : Long.compare(id, other.id);
+        }
+    }
+
+    // Normalised values by field ordinal, so a re-index can remove the old keys
+    private record Entry(String[] values, boolean enabled, Set<Role.RoleName> roles) {
+
+        private boolean matches(UserSearchQuery query) {
+            return (query.enabled() == null || query.enabled() == enabled)
+                && (query.role() == null || roles.contains(query.role()));
+        }
+    }
+
+    private static final class Tables {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<UserSearchField, NavigableSet<Key>> keys = new EnumMap<>(UserSearchField.class);
+        // Ticket of the last refresh applied per user; only touched under the index lock
+        private final Map<Long, Long> appliedTickets = new HashMap<>();
+
+        private Tables() {
+            for (UserSearchField field : UserSearchField.values()) {
+                keys.put(field, new ConcurrentSkipListSet<>());
+            }
+        }
+
+        // Callers serialise writes; searches read concurrently and may briefly see both keys
+        private void put(UserSnapshot user) {
+            String[] values = new String[UserSearchField.values().length];
+            for (UserSearchField field : UserSearchField.values()) {
+                values[field.ordinal()] = normalize(field.valueOf(user));
+            }
+            Entry previous = entries.put(user.id(), new Entry(values, user.enabled(), user.roles()));
+            for (UserSearchField field : UserSearchField.values()) {
+                String value = values[field.ordinal()];
+                String old = previous == null ? null : previous.values()[field.ordinal()];
+                if (old != null && !old.equals(value)) {
+                    keys.get(field).remove(new Key(old, user.id()));
+                }
+                if (value != null) {
+                    keys.get(field).add(new Key(value, user.id()));
+                }
+            }
+        }
+
+        private void remove(long id) {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                for (UserSearchField field : UserSearchField.values()) {
+                    String old = previous.values()[field.ordinal()];
+                    if (old != null) {
+                        keys.get(field).remove(new Key(old, id));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * An admin search: users whose {@code field} starts with {@code prefix}, optionally
+ * narrowed to one role and to enabled or disabled accounts. An empty prefix matches all.
+ */
+public record UserSearchQuery(UserSearchField field,
+                              String prefix,
+                              @Nullable Role.RoleName role,
+                              @Nullable Boolean enabled) {
+
+    public UserSearchQuery {
+        prefix = prefix == null ? "" : prefix.strip();
+    }
+}
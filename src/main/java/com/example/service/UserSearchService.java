@@ -0,0 +1,102 @@
+package com.example.service;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserSnapshot;
+import com.example.entity.User;
+import com.example.execution.RequestExecutorFactory;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import com.example.repository.UserSearchRepository;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Admin user search. Served by the {@link UserSearchIndex} once it is built, otherwise by
+ * an indexed range scan in the database; both return pages in (value, id) order with the
+ * same keyset cursor. Index hits are materialised from the principal cache, with all
+ * misses loaded in one query.
+ */
+@Singleton
+@Measured(Layer.SERVICE)
+public class UserSearchService {
+
+    private final UserSearchRepository searchRepository;
+    private final UserSearchIndex searchIndex;
+    private final UserPrincipalCache principalCache;
+    private final UserService userService;
+    private final Scheduler scheduler;
+
+    public UserSearchService(UserSearchRepository searchRepository, UserSearchIndex searchIndex,
+                             UserPrincipalCache principalCache, UserService userService,
+                             @Named(RequestExecutorFactory.REQUEST) ExecutorService requestExecutor) {
+        this.searchRepository = searchRepository;
+        this.searchIndex = searchIndex;
+        this.principalCache = principalCache;
+        this.userService = userService;
+        this.scheduler = Schedulers.fromExecutorService(requestExecutor);
+    }
+
+    // Signals IllegalArgumentException for a malformed cursor
+    public Mono<UserPage> search(UserSearchQuery query, @Nullable String cursor, @Nullable Integer limit) {
+        return Mono.fromCallable(() -> find(query, cursor, limit)).subscribeOn(scheduler);
+    }
+
+    UserPage find(UserSearchQuery query, @Nullable String cursor, @Nullable Integer limit) {
+        PageCursor.Key after = cursor == null ? null : PageCursor.decodeKey(cursor);
+        int pageSize = userService.pageSize(limit);
+        if (searchIndex.isReady()) {
+            List<UserSearchIndex.Hit> hits = searchIndex.search(query, after, pageSize);
+            UserSearchIndex.Hit last = hits.isEmpty() ? null : hits.get(hits.size() - 1);
+            String nextCursor = hits.size() == pageSize ? PageCursor.encode(last.value(), last.id()) : null;
+            return new UserPage(snapshots(hits), nextCursor);
+        }
+
+        List<UserSnapshot> items = searchRepository.search(query, after, pageSize).stream()
+            .map(UserSnapshot::of)
+            .toList();
+        UserSnapshot last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String nextCursor = items.size() == pageSize
+            ? PageCursor.encode(query.field().valueOf(last), last.id()) : null;
+        return new UserPage(items, nextCursor);
+    }
+
+    // A user deleted since it was indexed is left out; the cursor still advances past it
+    private List<UserSnapshot> snapshots(List<UserSearchIndex.Hit> hits) {
+        Map<Long, UserSnapshot> found = new HashMap<>(hits.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (UserSearchIndex.Hit hit : hits) {
+            Optional<UserSnapshot> cached = principalCache.getIfPresent(hit.id());
+            if (cached.isPresent()) {
+                found.put(hit.id(), cached.get());
+            } else {
+                missing.add(hit.id());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : searchRepository.findByIds(missing)) {
+                UserSnapshot snapshot = UserSnapshot.of(user);
+                principalCache.put(snapshot);
+                found.put(snapshot.id(), snapshot);
+            }
+        }
+        List<UserSnapshot> items = new ArrayList<>(hits.size());
+        for (UserSearchIndex.Hit hit : hits) {
+            UserSnapshot snapshot = found.get(hit.id());
+            if (snapshot != null) {
+                items.add(snapshot);
+            }
+        }
+        return items;
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.service;
 
+import com.example.audit.AuditLog;
+import com.example.datasource.ReplicaReads;
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserPage;
 import com.example.dto.UserRegistrationRequest;
+import com.example.dto.UserSnapshot;
+import com.example.dto.UserUpdateRequest;
+import com.example.entity.AuditEvent;
 import com.example.entity.Role;
 import com.example.entity.User;
-import com.example.repository.RoleRepository;
+import com.example.execution.Admitted;
+import com.example.metrics.Layer;
+import com.example.metrics.Measured;
+import com.example.repository.UserNaturalIdRepository;
+import com.example.repository.UserPasswordRepository;
 import com.example.repository.UserRepository;
+import com.example.security.PasswordHasher;
+import com.example.security.VerifiedCredentialCache;
+import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.transaction.annotation.ReadOnly;
 import jakarta.inject.Singleton;
-import org.mindrot.jbcrypt.BCrypt;
 
 import jakarta.transaction.Transactional;
 import org.reactivestreams.Publisher;
@@ -16,75 +32,212 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Singleton
+@Measured(Layer.SERVICE)
+@ReplicaReads
 public class UserService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-
-    public UserService(UserRepository userRepository, RoleRepository roleRepository) {
+    private final UserNaturalIdRepository naturalIdRepository;
+    private final UserPasswordRepository passwordRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHasher passwordHasher;
+    private final VerifiedCredentialCache credentialCache;
+    private final UserPrincipalCache principalCache;
+    private final UserSnapshotLoader snapshotLoader;
+    private final UserRegistrationWriter registrationWriter;
+    private final ApplicationEventPublisher<UserChangedEvent> eventPublisher;
+    private final AuditLog auditLog;
+    private final UserListingConfiguration listingConfiguration;
+    private final ReplicaRouting replicaRouting;
+
+    public UserService(UserRepository userRepository, UserNaturalIdRepository naturalIdRepository,
+                       UserPasswordRepository passwordRepository, RoleRegistry roleRegistry,
+                       PasswordHasher passwordHasher, VerifiedCredentialCache credentialCache,
+                       UserPrincipalCache principalCache, UserSnapshotLoader snapshotLoader,
+                       UserRegistrationWriter registrationWriter,
+                       ApplicationEventPublisher<UserChangedEvent> eventPublisher, AuditLog auditLog,
+                       UserListingConfiguration listingConfiguration, ReplicaRouting replicaRouting) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.naturalIdRepository = naturalIdRepository;
+        this.passwordRepository = passwordRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHasher = passwordHasher;
+        this.credentialCache = credentialCache;
+        this.principalCache = principalCache;
+        this.snapshotLoader = snapshotLoader;
+        this.registrationWriter = registrationWriter;
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog;
+        this.listingConfiguration = listingConfiguration;
+        this.replicaRouting = replicaRouting;
     }
 
-    @Transactional
+    // The insert and its change event share a transaction, so the after-commit listeners see it
     public User registerUser(UserRegistrationRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-
+        // Hash before the writer opens a transaction so no connection is held through BCrypt
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(BCrypt.hashpw(request.getPassword(), BCrypt.gensalt()));
+        user.setPassword(passwordHasher.hash(request.getPassword()));
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
 
         // Assign default USER role
-        Optional<Role> userRole = roleRepository.findByName(Role.RoleName.USER);
+        Optional<Role> userRole = roleRegistry.find(Role.RoleName.USER);
         if (userRole.isPresent()) {
             Set<Role> roles = new HashSet<>();
             roles.add(userRole.get());
             user.setRoles(roles);
         }
 
-        return userRepository.save(user);
+        return registrationWriter.insert(user, saved -> userChanged(saved.getId(), saved.getUsername(), false));
     }
 
+    // Lookups run in one read-only transaction: a single session and connection, FlushMode.MANUAL
+    // and read-only entities, so Hibernate keeps no snapshots to dirty-check at commit. The permit
+    // is taken before the transaction, like the writes below
+    @Admitted
+    @ReadOnly
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return naturalIdRepository.findByUsername(username);
     }
 
+    @Admitted
+    @ReadOnly
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    public Optional<UserSnapshot> findSnapshotByUsername(String username) {
+        return principalCache.getByUsername(username,
+            key -> naturalIdRepository.findByUsername(key).map(UserSnapshot::of));
+    }
+
+    public Optional<UserSnapshot> findSnapshotById(Long id) {
+        return principalCache.getById(id, snapshotLoader::findById);
+    }
+
+    @Admitted
+    @ReadOnly
     public @NonNull List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
+    // Both queries in one read-only transaction, so the ids and rows come from the same database
+    @Admitted
+    @ReadOnly
+    public UserPage findUserPage(@Nullable String cursor, @Nullable Integer limit) {
+        long afterId = cursor == null ? 0L : PageCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+
+        List<Long> ids = userRepository.findIdByIdGreaterThanOrderById(afterId, Pageable.from(0, pageSize));
+        if (ids.isEmpty()) {
+            return new UserPage(List.of(), null);
+        }
+
+        List<UserSnapshot> items = userRepository.findByIdInOrderById(ids).stream()
+            .map(UserSnapshot::of)
+            .toList();
+        String nextCursor = ids.size() == pageSize ? PageCursor.encode(ids.get(ids.size() - 1)) : null;
+        return new UserPage(items, nextCursor);
+    }
+
     public boolean validatePassword(String rawPassword, String hashedPassword) {
-        return BCrypt.checkpw(rawPassword, hashedPassword);
+        return passwordHasher.verify(rawPassword, hashedPassword);
+    }
+
+    public CompletableFuture<Boolean> validatePasswordAsync(UserSnapshot user, String rawPassword) {
+        if (credentialCache.matches(user.username(), user.passwordHash(), rawPassword)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return passwordHasher.verifyAsync(rawPassword, user.passwordHash())
+            .thenApply(valid -> {
+                if (valid) {
+                    credentialCache.record(user.id(), user.username(), user.passwordHash(), rawPassword);
+                }
+                return valid;
+            });
     }
 
+    // For logins that matched no usable account; never consults the credential cache
+    public CompletableFuture<Boolean> rejectPasswordAsync(String rawPassword) {
+        return passwordHasher.verifyDummyAsync(rawPassword);
+    }
+
+    public boolean needsRehash(UserSnapshot user) {
+        return passwordHasher.needsRehash(user.passwordHash());
+    }
+
+    public CompletableFuture<String> hashPasswordAsync(String rawPassword) {
+        return passwordHasher.hashAsync(rawPassword);
+    }
+
+    // False if the stored hash is no longer the one the new hash was derived from
+    @Admitted
     @Transactional
-    public User updateUser(Long id, User updatedUser) {
+    public boolean replacePasswordHash(UserSnapshot user, String newHash) {
+        boolean replaced = passwordRepository.updatePasswordHash(user.id(), user.passwordHash(), newHash) == 1;
+        if (replaced) {
+            credentialCache.invalidate(user.username());
+            userChanged(user.id(), user.username(), false);
+        }
+        return replaced;
+    }
+
+    // One permit for the whole transaction, not one per repository call; the caller audits after commit
+    @Admitted
+    @Transactional
+    public User updateUser(Long id, UserUpdateRequest update) {
         return userRepository.findById(id)
             .map(user -> {
-                user.setFirstName(updatedUser.getFirstName());
-                user.setLastName(updatedUser.getLastName());
-                user.setEmail(updatedUser.getEmail());
-                return userRepository.save(user);
+                user.setFirstName(update.getFirstName());
+                user.setLastName(update.getLastName());
+                user.setEmail(update.getEmail());
+                boolean disabled = user.isEnabled() && Boolean.FALSE.equals(update.getEnabled());
+                if (update.getEnabled() != null) {
+                    user.setEnabled(update.getEnabled());
+                }
+                credentialCache.invalidate(user.getUsername());
+                User saved = userRepository.save(user);
+                userChanged(saved.getId(), saved.getUsername(), disabled);
+                return saved;
             })
-            .orElseThrow(() -> new RuntimeException("User not found"));
+            .orElseThrow(UserNotFoundException::new);
     }
 
+    @Admitted
     @Transactional
-    public void deleteUser(Long id) {
+    // Returns the deleted user's username for the caller's audit record, null if there was no such user
+    public @Nullable String deleteUser(Long id) {
+        // Loaded first so the username's cache entry and replica stickiness go with the row
+        String username = userRepository.findById(id).map(User::getUsername).orElse(null);
+        credentialCache.invalidateUserId(id);
         userRepository.deleteById(id);
+        userChanged(id, username, true);
+        return username;
+    }
+
+    int pageSize(@Nullable Integer limit) {
+        if (limit == null) {
+            return listingConfiguration.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(limit, listingConfiguration.getMaxPageSize()));
+    }
+
+    // Profile changes carry no client address; logins and registrations record theirs at the edge.
+    // Callers record once the write has committed, so a rolled-back change leaves no audit row
+    void audit(AuditEvent.Type type, Long id, String username) {
+        auditLog.record(type, id, username, null);
+    }
+
+    // Evict and pin reads to the primary now, so this thread sees its own write even when no
+    // transaction carries the event to its after-commit listeners; they repeat both at commit
+    void userChanged(Long id, String username, boolean accessRevoked) {
+        principalCache.invalidate(id, username);
+        replicaRouting.recordWrite(id, username);
+        eventPublisher.publishEvent(new UserChangedEvent(id, username, accessRevoked));
     }
 }
\ No newline at end of file
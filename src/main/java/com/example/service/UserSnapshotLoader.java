@@ -0,0 +1,32 @@
+package com.example.service;
+
+import com.example.datasource.ReplicaReads;
+import com.example.dto.UserSnapshot;
+import com.example.execution.Admitted;
+import com.example.repository.UserRepository;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+
+import java.util.Optional;
+
+/**
+ * Loads snapshots for {@link UserPrincipalCache} misses by id through the {@code User}
+ * entity, so a warm second-level cache answers with the user, its role ids and the roles
+ * without any SQL. The transaction only spans the load and the lazy roles collection.
+ */
+@Singleton
+@ReplicaReads
+public class UserSnapshotLoader {
+
+    private final UserRepository userRepository;
+
+    public UserSnapshotLoader(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Admitted
+    @ReadOnly
+    public Optional<UserSnapshot> findById(Long id) {
+        return userRepository.findById(id).map(UserSnapshot::of);
+    }
+}
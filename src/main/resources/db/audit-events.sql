@@ -0,0 +1,16 @@
+-- Audit table for an existing MySQL schema; H2 runs with hbm2ddl create-drop and needs nothing.
+-- Rows are only ever inserted in batches by the audit writer, so ids are reserved 500 at a time.
+
+CREATE TABLE audit_events (
+    id BIGINT NOT NULL PRIMARY KEY,
+    type VARCHAR(32) NOT NULL,
+    user_id BIGINT,
+    username VARCHAR(255),
+    client_address VARCHAR(255),
+    occurred_at DATETIME(6) NOT NULL
+);
+CREATE INDEX idx_audit_events_occurred_at ON audit_events (occurred_at);
+CREATE INDEX idx_audit_events_user_id ON audit_events (user_id);
+
+CREATE TABLE audit_events_seq (next_val BIGINT);
+INSERT INTO audit_events_seq (next_val) VALUES (1);
@@ -0,0 +1,5 @@
+-- Write-behind login tracking columns on users for an existing MySQL schema; H2 runs with
+-- hbm2ddl create-drop and needs nothing. Only the login activity flush writes them.
+
+ALTER TABLE users ADD COLUMN last_login_at DATETIME(6) NULL;
+ALTER TABLE users ADD COLUMN login_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- One-off migration from IDENTITY columns to the pooled id generators on User and Role.
+-- H2 runs with hbm2ddl create-drop and needs nothing. For an existing MySQL schema, run
+-- this before deploying. MySQL has no sequences, so Hibernate emulates users_seq and
+-- roles_seq with single-row tables. Each read of next_val reserves a block of
+-- allocationSize ids that ends at the value read, so seed them one block past MAX(id).
+-- The old AUTO_INCREMENT attribute can stay; explicit ids take precedence over it.
+
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 + 1 FROM users;
+
+CREATE TABLE roles_seq (next_val BIGINT);
+INSERT INTO roles_seq (next_val) SELECT COALESCE(MAX(id), 0) + 10 + 1 FROM roles;
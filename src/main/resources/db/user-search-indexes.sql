@@ -0,0 +1,8 @@
+-- Indexes behind GET /api/users/search for an existing MySQL schema; H2 runs with hbm2ddl
+-- create-drop and gets them from the entity mapping. Username and email prefixes use the
+-- existing unique indexes. Build online so the users table stays writable.
+
+ALTER TABLE users ADD INDEX idx_users_first_name_id (first_name, id), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE users ADD INDEX idx_users_last_name_id (last_name, id), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE users ADD INDEX idx_users_enabled_username_id (enabled, username, id), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE user_roles ADD INDEX idx_user_roles_role_user (role_id, user_id), ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,193 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sinkEntered = new CountDownLatch(1);
+    private final CountDownLatch sinkReleased = new CountDownLatch(1);
+    private AuditLog auditLog;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sinkReleased.countDown();
+        if (auditLog != null) {
+            auditLog.shutdown();
+        }
+    }
+
+    @Test
+    void flushesFullBatchesThenRemainderAfterInterval() throws InterruptedException {
+        // Given
+        AuditConfiguration configuration = configuration(3);
+        configuration.setFlushInterval(Duration.ofMillis(50));
+        auditLog = new AuditLog(configuration, events -> batches.add(List.copyOf(events)), meterRegistry);
+
+        // When
+        for (long id = 1; id <= 7; id++) {
+            auditLog.record(AuditEvent.Type.LOGIN_SUCCEEDED, id, "user" + id, "10.0.0.1");
+        }
+
+        // Then
+        await(() -> batches.stream().mapToInt(List::size).sum() == 7);
+        assertEquals(List.of(3, 3, 1), batches.stream().map(List::size).toList());
+        assertEquals(7.0, meterRegistry.get("audit.events").tag("result", "published").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.lag").gauge().value());
+    }
+
+    @Test
+    void fullBufferDropsAndCountsWithDropPolicy() throws InterruptedException {
+        // Given: the writer is stuck in the sink with one event, two slots are left
+        AuditConfiguration configuration = configuration(1);
+        configuration.setBufferSize(2);
+        auditLog = new AuditLog(configuration, this::blockingWrite, meterRegistry);
+        auditLog.record(AuditEvent.Type.REGISTERED, 1L, "user1", null);
+        assertTrue(sinkEntered.await(5, TimeUnit.SECONDS));
+
+        // When
+        for (long id = 2; id <= 6; id++) {
+            auditLog.record(AuditEvent.Type.REGISTERED, id, "user" + id, null);
+        }
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("audit.events").tag("result", "dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("audit.lag").gauge().value());
+        sinkReleased.countDown();
+        await(() -> batches.size() == 3);
+    }
+
+    @Test
+    void fullBufferMakesCallersWaitWithBlockPolicy() throws InterruptedException {
+        // Given
+        AuditConfiguration configuration = configuration(1);
+        configuration.setBufferSize(2);
+        configuration.setOverflow(AuditConfiguration.Overflow.BLOCK);
+        auditLog = new AuditLog(configuration, this::blockingWrite, meterRegistry);
+        auditLog.record(AuditEvent.Type.REGISTERED, 1L, "user1", null);
+        assertTrue(sinkEntered.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread producer = new Thread(() -> {
+            for (long id = 2; id <= 6; id++) {
+                auditLog.record(AuditEvent.Type.REGISTERED, id, "user" + id, null);
+            }
+        });
+        producer.start();
+        producer.join(200);
+
+        // Then
+        assertTrue(producer.isAlive());
+        sinkReleased.countDown();
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        await(() -> batches.size() == 6);
+        assertEquals(0.0, meterRegistry.get("audit.events").tag("result", "dropped").counter().count());
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOneAndOnlyTheBadEventIsCounted() throws InterruptedException {
+        // Given: the sink rejects any batch holding user 2
+        AuditConfiguration configuration = configuration(2);
+        auditLog = new AuditLog(configuration, events -> {
+            if (events.stream().anyMatch(event -> event.getUserId() == 2L)) {
+                throw new IllegalStateException("value too long");
+            }
+            batches.add(List.copyOf(events));
+        }, meterRegistry);
+
+        // When
+        for (long id = 1; id <= 4; id++) {
+            auditLog.record(AuditEvent.Type.UPDATED, id, "user" + id, null);
+        }
+
+        // Then
+        await(() -> batches.stream().mapToInt(List::size).sum() == 3);
+        assertEquals(List.of(1L, 3L, 4L),
+            batches.stream().flatMap(List::stream).map(AuditEvent::getUserId).toList());
+        assertEquals(1.0, meterRegistry.get("audit.events").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void overlongClientAddressIsTruncatedToColumnLength() throws InterruptedException {
+        // Given
+        AuditConfiguration configuration = configuration(1);
+        auditLog = new AuditLog(configuration, events -> batches.add(List.copyOf(events)), meterRegistry);
+
+        // When
+        auditLog.record(AuditEvent.Type.LOGIN_FAILED, null, "ghost", "1".repeat(1_000));
+
+        // Then
+        await(() -> batches.size() == 1);
+        assertEquals(255, batches.get(0).get(0).getClientAddress().length());
+    }
+
+    @Test
+    void shutdownFlushesBufferedEvents() throws InterruptedException {
+        // Given
+        AuditConfiguration configuration = configuration(100);
+        configuration.setFlushInterval(Duration.ofMinutes(1));
+        auditLog = new AuditLog(configuration, events -> batches.add(List.copyOf(events)), meterRegistry);
+        auditLog.record(AuditEvent.Type.DELETED, 1L, null, null);
+
+        // When
+        auditLog.shutdown();
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(AuditEvent.Type.DELETED, batches.get(0).get(0).getType());
+    }
+
+    @Test
+    void disabledLogRecordsNothing() throws InterruptedException {
+        // Given
+        AuditConfiguration configuration = configuration(1);
+        configuration.setEnabled(false);
+        auditLog = new AuditLog(configuration, events -> batches.add(List.copyOf(events)), meterRegistry);
+
+        // When
+        auditLog.record(AuditEvent.Type.LOGIN_FAILED, null, "ghost", null);
+        auditLog.shutdown();
+
+        // Then
+        assertTrue(batches.isEmpty());
+    }
+
+    private void blockingWrite(List<AuditEvent> events) {
+        sinkEntered.countDown();
+        try {
+            sinkReleased.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batches.add(List.copyOf(events));
+    }
+
+    private static AuditConfiguration configuration(int batchSize) {
+        AuditConfiguration configuration = new AuditConfiguration();
+        configuration.setBatchSize(batchSize);
+        configuration.setFlushInterval(Duration.ofMillis(10));
+        return configuration;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+}
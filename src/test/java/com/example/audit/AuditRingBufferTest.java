@@ -0,0 +1,112 @@
+package com.example.audit;
+
+import com.example.entity.AuditEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void drainsInPublicationOrderAcrossWrapAround() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEvent> drained = new ArrayList<>();
+
+        // When: three laps of a four-slot ring
+        for (int lap = 0; lap < 3; lap++) {
+            for (long id = 1; id <= 4; id++) {
+                assertTrue(buffer.offer(id, AuditEvent.Type.LOGIN_SUCCEEDED, lap * 4 + id, "user" + id, "10.0.0.1"));
+            }
+            assertEquals(4, buffer.drainTo(drained, 10));
+        }
+
+        // Then
+        assertEquals(12, drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i + 1, drained.get(i).getUserId());
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void fullBufferRejectsUntilDrained() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(3);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(0, AuditEvent.Type.REGISTERED, i + 1, "user", null));
+        }
+
+        // When & Then
+        assertEquals(4, buffer.capacity());
+        assertFalse(buffer.offer(0, AuditEvent.Type.REGISTERED, 5, "user", null));
+        assertEquals(2, buffer.drainTo(new ArrayList<>(), 2));
+        assertTrue(buffer.offer(0, AuditEvent.Type.REGISTERED, 5, "user", null));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void missingUserIdDrainsAsNull() {
+        // Given
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        List<AuditEvent> drained = new ArrayList<>();
+        buffer.offer(1_000, AuditEvent.Type.LOGIN_FAILED, AuditRingBuffer.NO_USER, "ghost", "10.0.0.1");
+
+        // When
+        buffer.drainTo(drained, 1);
+
+        // Then
+        AuditEvent event = drained.get(0);
+        assertNull(event.getUserId());
+        assertEquals("ghost", event.getUsername());
+        assertEquals(1_000, event.getOccurredAt().toEpochMilli());
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 1; i <= perProducer; i++) {
+                    while (!buffer.offer(0, AuditEvent.Type.LOGIN_SUCCEEDED, base + i, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+
+        // When: this thread is the single consumer
+        start.countDown();
+        List<AuditEvent> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drainTo(drained, 64);
+        }
+        executor.shutdownNow();
+
+        // Then
+        Set<Long> ids = new HashSet<>();
+        drained.forEach(event -> ids.add(event.getUserId()));
+        assertEquals(producers * perProducer, ids.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.controller;
+
+import com.example.dto.UserRegistrationRequest;
+import com.example.repository.UserNaturalIdRepository;
+import com.example.repository.UserRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+@Property(name = "password-hashing.queue-capacity", value = "128")
+class RegistrationConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    UserNaturalIdRepository naturalIdRepository;
+
+    @AfterEach
+    void tearDown() {
+        naturalIdRepository.findByUsername("contended").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void sameUsernameFromManyThreadsCreatesExactlyOneUser() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> responses = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UserRegistrationRequest request = new UserRegistrationRequest();
+            request.setUsername("contended");
+            request.setEmail("contended" + i + "@example.com");
+            request.setPassword("password123");
+            responses.add(executor.submit(() -> {
+                start.await();
+                return register(request);
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (Future<HttpStatus> response : responses) {
+            statuses.add(response.get());
+        }
+        executor.shutdown();
+
+        // Then
+        Map<HttpStatus, Long> counts = statuses.stream()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(1L, counts.get(HttpStatus.CREATED), counts.toString());
+        assertEquals(THREADS - 1L, counts.get(HttpStatus.CONFLICT), counts.toString());
+        assertTrue(statuses.stream().noneMatch(status -> status.getCode() >= 500), counts.toString());
+    }
+
+    private HttpStatus register(UserRegistrationRequest request) {
+        try {
+            return client.toBlocking().exchange(HttpRequest.POST("/auth/register", request)).getStatus();
+        } catch (HttpClientResponseException e) {
+            return e.getStatus();
+        }
+    }
+}
@@ -1,11 +1,34 @@
 package com.example.controller;
 
+import com.example.audit.AuditLog;
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserPage;
 import com.example.dto.UserRegistrationRequest;
+import com.example.dto.UserSnapshot;
+import com.example.dto.UserUpdateRequest;
 import com.example.entity.Role;
 import com.example.entity.User;
 import com.example.repository.RoleRepository;
+import com.example.repository.UserNaturalIdRepository;
+import com.example.repository.UserPasswordRepository;
 import com.example.repository.UserRepository;
+import com.example.security.PasswordHasher;
+import com.example.security.CredentialCacheConfiguration;
+import com.example.security.PasswordHashingConfiguration;
+import com.example.security.VerifiedCredentialCache;
+import com.example.service.DuplicateUserException;
+import com.example.service.RoleRegistry;
+import com.example.service.UserCacheConfiguration;
+import com.example.service.UserChangedEvent;
+import com.example.service.UserListingConfiguration;
+import com.example.service.UserPrincipalCache;
+import com.example.service.UserRegistrationWriter;
 import com.example.service.UserService;
+import com.example.service.UserSnapshotLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.data.model.Pageable;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -27,9 +51,30 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserNaturalIdRepository naturalIdRepository;
+
+    @Mock
+    private UserPasswordRepository passwordRepository;
+
     @Mock
     private RoleRepository roleRepository;
 
+    private PasswordHasher passwordHasher;
+
+    private VerifiedCredentialCache credentialCache;
+
+    private UserPrincipalCache principalCache;
+
+    @Mock
+    private ApplicationEventPublisher<UserChangedEvent> eventPublisher;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private ReplicaRouting replicaRouting;
+
     private UserService userService;
 
     private User testUser;
@@ -38,7 +83,14 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepository, roleRepository);
+        passwordHasher = new PasswordHasher(new PasswordHashingConfiguration(), new SimpleMeterRegistry());
+        credentialCache = new VerifiedCredentialCache(new CredentialCacheConfiguration());
+        principalCache = new UserPrincipalCache(new UserCacheConfiguration());
+        userService = new UserService(userRepository, naturalIdRepository, passwordRepository,
+            new RoleRegistry(roleRepository), passwordHasher, credentialCache,
+            principalCache, new UserSnapshotLoader(userRepository),
+            new UserRegistrationWriter(userRepository), eventPublisher, auditLog,
+            new UserListingConfiguration(), replicaRouting);
 
         // Setup test data
         userRole = new Role(Role.RoleName.USER, "Regular user role");
@@ -65,10 +117,8 @@ class UserServiceTest {
     @Test
     void registerUser_Success() {
         // Given
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("newuser@example.com")).thenReturn(false);
-        when(roleRepository.findByName(Role.RoleName.USER)).thenReturn(Optional.of(userRole));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         User result = userService.registerUser(registrationRequest);
@@ -80,46 +130,74 @@ class UserServiceTest {
         assertTrue(result.isEnabled());
         assertFalse(result.getRoles().isEmpty());
 
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository).existsByEmail("newuser@example.com");
-        verify(roleRepository).findByName(Role.RoleName.USER);
-        verify(userRepository).save(any(User.class));
+        verify(naturalIdRepository, never()).existsByUsername(any());
+        verify(roleRepository).findAll();
+        verify(roleRepository, never()).findByName(any());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(replicaRouting).recordWrite(1L, "testuser");
+    }
+
+    @Test
+    void registerUser_ResolvesDefaultRoleWithoutQueryingRoles() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User first = userService.registerUser(registrationRequest);
+        registrationRequest.setUsername("seconduser");
+        registrationRequest.setEmail("seconduser@example.com");
+        User second = userService.registerUser(registrationRequest);
+
+        // Then
+        assertEquals(Set.of(userRole), first.getRoles());
+        assertEquals(Set.of(userRole), second.getRoles());
+        verify(roleRepository, times(1)).findAll();
+        verifyNoMoreInteractions(roleRepository);
     }
 
     @Test
     void registerUser_UsernameAlreadyExists() {
         // Given
-        when(userRepository.existsByUsername("newuser")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class)))
+            .thenThrow(duplicateKey("PUBLIC.UK_USERS_USERNAME_INDEX_4 ON PUBLIC.USERS(USERNAME)"));
 
         // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class, 
+        DuplicateUserException exception = assertThrows(DuplicateUserException.class,
             () -> userService.registerUser(registrationRequest));
         assertEquals("Username already exists", exception.getMessage());
+        assertEquals(DuplicateUserException.Field.USERNAME, exception.getField());
 
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository, never()).save(any());
+        verify(naturalIdRepository, never()).existsByUsername(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void registerUser_EmailAlreadyExists() {
         // Given
-        when(userRepository.existsByUsername("newuser")).thenReturn(false);
-        when(userRepository.existsByEmail("newuser@example.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class)))
+            .thenThrow(duplicateKey("users.uk_users_email"));
 
         // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class, 
+        DuplicateUserException exception = assertThrows(DuplicateUserException.class,
             () -> userService.registerUser(registrationRequest));
         assertEquals("Email already exists", exception.getMessage());
+        assertEquals(DuplicateUserException.Field.EMAIL, exception.getField());
+    }
 
-        verify(userRepository).existsByUsername("newuser");
-        verify(userRepository).existsByEmail("newuser@example.com");
-        verify(userRepository, never()).save(any());
+    @Test
+    void registerUser_OtherConstraintViolationIsNotTranslated() {
+        // Given
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicateKey("fk_user_roles_role"));
+
+        // When & Then
+        assertThrows(ConstraintViolationException.class, () -> userService.registerUser(registrationRequest));
     }
 
     @Test
     void findByUsername_UserExists() {
         // Given
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(naturalIdRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // When
         Optional<User> result = userService.findByUsername("testuser");
@@ -129,13 +207,13 @@ class UserServiceTest {
         assertEquals("testuser", result.get().getUsername());
         assertEquals("test@example.com", result.get().getEmail());
 
-        verify(userRepository).findByUsername("testuser");
+        verify(naturalIdRepository).findByUsername("testuser");
     }
 
     @Test
     void findByUsername_UserNotExists() {
         // Given
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(naturalIdRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // When
         Optional<User> result = userService.findByUsername("nonexistent");
@@ -143,7 +221,7 @@ class UserServiceTest {
         // Then
         assertFalse(result.isPresent());
 
-        verify(userRepository).findByUsername("nonexistent");
+        verify(naturalIdRepository).findByUsername("nonexistent");
     }
 
     @Test
@@ -162,6 +240,64 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
     }
 
+    @Test
+    void findSnapshotByUsername_CachesSnapshot() {
+        // Given
+        when(naturalIdRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        Optional<UserSnapshot> first = userService.findSnapshotByUsername("testuser");
+        Optional<UserSnapshot> second = userService.findSnapshotByUsername("testuser");
+        Optional<UserSnapshot> byId = userService.findSnapshotById(1L);
+
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertEquals(first, byId);
+        assertEquals(Set.of(Role.RoleName.USER), first.get().roles());
+        assertEquals(2, principalCache.stats().hits());
+
+        verify(naturalIdRepository, times(1)).findByUsername("testuser");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void findSnapshotById_LoadsEntityOnceOnMiss() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When
+        Optional<UserSnapshot> first = userService.findSnapshotById(1L);
+        Optional<UserSnapshot> byUsername = userService.findSnapshotByUsername("testuser");
+
+        // Then
+        assertEquals(Set.of(Role.RoleName.USER), first.orElseThrow().roles());
+        assertEquals(first, byUsername);
+        verify(userRepository, times(1)).findById(1L);
+        verify(naturalIdRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void updateUser_InvalidatesCachedSnapshot() {
+        // Given
+        when(naturalIdRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        userService.findSnapshotByUsername("testuser");
+
+        UserUpdateRequest updatedUser = new UserUpdateRequest();
+        updatedUser.setEmail("updated@example.com");
+
+        // When
+        userService.updateUser(1L, updatedUser);
+        Optional<UserSnapshot> result = userService.findSnapshotByUsername("testuser");
+
+        // Then
+        assertEquals("updated@example.com", result.get().email());
+        verify(naturalIdRepository, times(2)).findByUsername("testuser");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser"));
+    }
+
     @Test
     void findAllUsers() {
         // Given
@@ -179,6 +315,31 @@ class UserServiceTest {
         verify(userRepository).findAll();
     }
 
+    @Test
+    void findUserPage_ReturnsCursorForFullPage() {
+        // Given
+        when(userRepository.findIdByIdGreaterThanOrderById(0L, Pageable.from(0, 1))).thenReturn(List.of(1L));
+        when(userRepository.findByIdInOrderById(List.of(1L))).thenReturn(List.of(testUser));
+        when(userRepository.findIdByIdGreaterThanOrderById(1L, Pageable.from(0, 1))).thenReturn(List.of());
+
+        // When
+        UserPage first = userService.findUserPage(null, 1);
+        UserPage second = userService.findUserPage(first.nextCursor(), 1);
+
+        // Then
+        assertEquals(1, first.items().size());
+        assertEquals("testuser", first.items().get(0).username());
+        assertNotNull(first.nextCursor());
+        assertTrue(second.items().isEmpty());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void findUserPage_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> userService.findUserPage("not-a-cursor", 10));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void validatePassword_ValidPassword() {
         // Given
@@ -208,7 +369,7 @@ class UserServiceTest {
     @Test
     void updateUser_Success() {
         // Given
-        User updatedUser = new User();
+        UserUpdateRequest updatedUser = new UserUpdateRequest();
         updatedUser.setFirstName("Updated");
         updatedUser.setLastName("Name");
         updatedUser.setEmail("updated@example.com");
@@ -225,10 +386,47 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void updateUser_DisablingRevokesAccess() {
+        // Given
+        UserUpdateRequest updatedUser = new UserUpdateRequest();
+        updatedUser.setEnabled(false);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // When
+        User result = userService.updateUser(1L, updatedUser);
+
+        // Then
+        assertFalse(result.isEnabled());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser", true));
+    }
+
+    @Test
+    void updateUser_WithoutEnabledKeepsDisabledUserDisabled() {
+        // Given
+        testUser.setEnabled(false);
+        UserUpdateRequest updatedUser = new UserUpdateRequest();
+        updatedUser.setFirstName("Updated");
+        updatedUser.setEmail("updated@example.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userService.updateUser(1L, updatedUser);
+
+        // Then
+        assertFalse(result.isEnabled());
+        assertEquals("Updated", result.getFirstName());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser"));
+    }
+
     @Test
     void updateUser_UserNotFound() {
         // Given
-        User updatedUser = new User();
+        UserUpdateRequest updatedUser = new UserUpdateRequest();
         when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
@@ -244,11 +442,38 @@ class UserServiceTest {
     void deleteUser() {
         // Given
         Long userId = 1L;
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
 
         // When
-        userService.deleteUser(userId);
+        String deleted = userService.deleteUser(userId);
 
         // Then
+        assertEquals("testuser", deleted);
         verify(userRepository).deleteById(userId);
+        verify(replicaRouting).recordWrite(userId, "testuser");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, "testuser", true));
+        verify(auditLog, never()).record(any(), any(), any(), any());
+    }
+
+    @Test
+    void replacePasswordHash_SwapsOnlyTheHashItWasDerivedFrom() {
+        // Given
+        UserSnapshot user = UserSnapshot.of(testUser);
+        when(passwordRepository.updatePasswordHash(1L, user.passwordHash(), "newHash")).thenReturn(1);
+        when(passwordRepository.updatePasswordHash(1L, user.passwordHash(), "lostRace")).thenReturn(0);
+
+        // When
+        boolean replaced = userService.replacePasswordHash(user, "newHash");
+        boolean stale = userService.replacePasswordHash(user, "lostRace");
+
+        // Then
+        assertTrue(replaced);
+        assertFalse(stale);
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(1L, "testuser", false));
+    }
+
+    private static ConstraintViolationException duplicateKey(String constraintName) {
+        return new ConstraintViolationException("could not execute statement",
+            new SQLException("Unique index or primary key violation", "23505"), constraintName);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.example.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Goes through the compiled annotation metadata, where @ReadOnly's @Transactional is a stereotype
+@MicronautTest(transactional = false)
+@Property(name = "spec.name", value = "ReplicaReadIntegrationTest")
+@Property(name = ReadReplicaConfiguration.ENABLED, value = "true")
+@Property(name = "read-replicas.urls[0]", value = ReplicaReadIntegrationTest.REPLICA)
+class ReplicaReadIntegrationTest {
+
+    static final String REPLICA = "jdbc:h2:mem:replicaReadsDb;DB_CLOSE_DELAY=-1";
+
+    @Inject
+    ConnectionUrls connectionUrls;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void readOnlyMethodIsServedByReplica() {
+        // Given
+        double before = meterRegistry.get("datasource.reads").tag("route", "replica").counter().count();
+
+        // When
+        String url = connectionUrls.readOnly();
+
+        // Then
+        assertTrue(url.startsWith("jdbc:h2:mem:replicaReadsDb"), url);
+        assertEquals(before + 1, meterRegistry.get("datasource.reads").tag("route", "replica").counter().count());
+    }
+
+    @Test
+    void writeTransactionStaysOnPrimary() {
+        // When
+        String url = connectionUrls.readWrite();
+
+        // Then
+        assertTrue(url.startsWith("jdbc:h2:mem:testDb"), url);
+    }
+
+    @Singleton
+    @ReplicaReads
+    @Requires(property = "spec.name", value = "ReplicaReadIntegrationTest")
+    static class ConnectionUrls {
+
+        private final EntityManager entityManager;
+
+        ConnectionUrls(EntityManager entityManager) {
+            this.entityManager = entityManager;
+        }
+
+        @ReadOnly
+        public String readOnly() {
+            return url();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return url();
+        }
+
+        private String url() {
+            return entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getURL());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.datasource;
+
+import com.example.service.UserChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.transaction.annotation.ReadOnly;
+import io.micronaut.transaction.annotation.Transactional;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Two in-memory H2 instances stand in for the primary and the replicas
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final String PRIMARY = "jdbc:h2:mem:routingPrimary";
+    private static final String REPLICA = "jdbc:h2:mem:routingReplica";
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MethodInvocationContext<Object, Object> outer;
+
+    @Mock
+    private MethodInvocationContext<Object, Object> inner;
+
+    @Test
+    void readOnlyTransactionIsServedByReplica() throws Exception {
+        // Given
+        ReplicaRouting routing = routing();
+        RoutingDataSource dataSource = routingDataSource(routing, List.of(h2(REPLICA)));
+        ReplicaReadInterceptor interceptor = new ReplicaReadInterceptor(routing);
+        readOnly(outer, 7L);
+        when(outer.proceed()).thenAnswer(invocation -> url(dataSource));
+
+        // When
+        Object url = interceptor.intercept(outer);
+
+        // Then
+        assertEquals(REPLICA, url);
+        assertNull(routing.current());
+        assertEquals(PRIMARY, url(dataSource));
+        assertEquals(1.0, meterRegistry.get("datasource.reads").tag("route", "replica").counter().count());
+    }
+
+    @Test
+    void readsNestedInWriteTransactionStayOnPrimary() {
+        // Given
+        ReplicaRouting routing = routing();
+        RoutingDataSource dataSource = routingDataSource(routing, List.of(h2(REPLICA)));
+        ReplicaReadInterceptor interceptor = new ReplicaReadInterceptor(routing);
+        when(outer.hasStereotype(Transactional.class)).thenReturn(true);
+        when(outer.proceed()).thenAnswer(invocation -> interceptor.intercept(inner));
+        when(inner.proceed()).thenAnswer(invocation -> url(dataSource));
+
+        // When
+        Object url = interceptor.intercept(outer);
+
+        // Then
+        assertEquals(PRIMARY, url);
+        verify(inner, never()).hasStereotype(ReadOnly.class);
+    }
+
+    @Test
+    void recentlyWrittenUserIsReadFromPrimaryUntilWindowPasses() {
+        // Given
+        ReplicaRouting routing = routing();
+        RoutingDataSource dataSource = routingDataSource(routing, List.of(h2(REPLICA)));
+        ReplicaReadInterceptor interceptor = new ReplicaReadInterceptor(routing);
+        routing.onUserChanged(new UserChangedEvent(7L, "testuser"));
+        when(outer.hasStereotype(Transactional.class)).thenReturn(true);
+        when(outer.hasStereotype(ReadOnly.class)).thenReturn(true);
+        when(outer.getParameterValues()).thenReturn(
+            new Object[]{7L}, new Object[]{"testuser"}, new Object[]{8L}, new Object[]{7L});
+        when(outer.proceed()).thenAnswer(invocation -> url(dataSource));
+
+        // When & Then
+        assertEquals(PRIMARY, interceptor.intercept(outer));
+        assertEquals(PRIMARY, interceptor.intercept(outer));
+        assertEquals(REPLICA, interceptor.intercept(outer));
+
+        clock.instant = NOW.plusSeconds(6);
+        assertEquals(REPLICA, interceptor.intercept(outer));
+        assertEquals(2.0, meterRegistry.get("datasource.reads").tag("route", "sticky").counter().count());
+    }
+
+    @Test
+    void roundRobinAlternatesReplicas() {
+        // Given
+        DataSource first = h2(REPLICA);
+        DataSource second = h2(REPLICA + "2");
+        RoutingDataSource dataSource = routingDataSource(routing(), List.of(first, second));
+
+        // When & Then
+        assertSame(first, dataSource.pick());
+        assertSame(second, dataSource.pick());
+        assertSame(first, dataSource.pick());
+    }
+
+    @Test
+    void leastConnectionsAvoidsBusyReplica() throws Exception {
+        // Given
+        try (HikariDataSource busy = hikari(REPLICA); HikariDataSource idle = hikari(REPLICA + "2");
+             Connection held = busy.getConnection()) {
+            RoutingDataSource dataSource = new RoutingDataSource(h2(PRIMARY), List.of(busy, idle),
+                ReadReplicaConfiguration.Balancing.LEAST_CONNECTIONS, routing());
+
+            // When & Then
+            for (int i = 0; i < 4; i++) {
+                assertSame(idle, dataSource.pick());
+            }
+            assertFalse(held.isClosed());
+        }
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() throws Exception {
+        // Given
+        ReplicaRouting routing = routing();
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        RoutingDataSource dataSource = routingDataSource(routing, List.of(down));
+        routing.bind(ReplicaRouting.Route.REPLICA);
+
+        // When & Then
+        try {
+            assertEquals(PRIMARY, url(dataSource));
+        } finally {
+            routing.restore(null);
+        }
+    }
+
+    @Test
+    void disabledRoutingPassesThrough() {
+        // Given
+        ReadReplicaConfiguration configuration = configuration();
+        configuration.setEnabled(false);
+        ReplicaRouting routing = new ReplicaRouting(configuration, clock, meterRegistry);
+        ReplicaReadInterceptor interceptor = new ReplicaReadInterceptor(routing);
+        when(outer.proceed()).thenAnswer(invocation -> routing.current());
+
+        // When
+        Object route = interceptor.intercept(outer);
+
+        // Then
+        assertNull(route);
+        verify(outer, never()).hasStereotype(Transactional.class);
+    }
+
+    private ReplicaRouting routing() {
+        return new ReplicaRouting(configuration(), clock, meterRegistry);
+    }
+
+    private static ReadReplicaConfiguration configuration() {
+        ReadReplicaConfiguration configuration = new ReadReplicaConfiguration();
+        configuration.setEnabled(true);
+        configuration.setUrls(List.of(REPLICA));
+        return configuration;
+    }
+
+    private static RoutingDataSource routingDataSource(ReplicaRouting routing, List<DataSource> replicas) {
+        return new RoutingDataSource(h2(PRIMARY), replicas, ReadReplicaConfiguration.Balancing.ROUND_ROBIN, routing);
+    }
+
+    private static void readOnly(MethodInvocationContext<Object, Object> context, Object... arguments) {
+        when(context.hasStereotype(Transactional.class)).thenReturn(true);
+        when(context.hasStereotype(ReadOnly.class)).thenReturn(true);
+        when(context.getParameterValues()).thenReturn(arguments);
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static DataSource h2(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static HikariDataSource hikari(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long millis() {
+            return instant.toEpochMilli();
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
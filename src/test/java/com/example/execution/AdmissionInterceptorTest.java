@@ -0,0 +1,102 @@
+package com.example.execution;
+
+import com.example.datasource.ReplicaReadInterceptor;
+import com.example.datasource.ReplicaRouting;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInvocationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionInterceptorTest {
+
+    @Mock
+    private MethodInvocationContext<Object, Object> outer;
+
+    @Mock
+    private MethodInvocationContext<Object, Object> inner;
+
+    @Test
+    void nestedCallsShareOnePermit() {
+        // Given
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(configuration(1, Duration.ofMillis(50)));
+        when(inner.proceed()).thenReturn("inner");
+        when(outer.proceed()).thenAnswer(invocation -> interceptor.intercept(inner));
+
+        // When
+        Object result = interceptor.intercept(outer);
+
+        // Then
+        assertEquals("inner", result);
+        AdmissionStats stats = interceptor.stats();
+        assertEquals(1, stats.admitted());
+        assertEquals(0, stats.rejected());
+        assertEquals(0, stats.inUse());
+    }
+
+    @Test
+    void permitIsTakenBeforeTheTransactionOpens() {
+        // Given
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(configuration(1, Duration.ofMillis(50)));
+
+        // When & Then
+        assertTrue(interceptor.getOrder() < InterceptPhase.TRANSACTION.getPosition());
+        assertTrue(interceptor.getOrder() < new ReplicaReadInterceptor(mock(ReplicaRouting.class)).getOrder());
+    }
+
+    @Test
+    void callerIsRejectedWhenNoPermitFreesUpInTime() throws Exception {
+        // Given
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(configuration(1, Duration.ofMillis(50)));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(outer.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> interceptor.intercept(outer));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(AdmissionRejectedException.class, () -> interceptor.intercept(inner));
+        verify(inner, never()).proceed();
+
+        release.countDown();
+        assertEquals(true, holder.get(5, TimeUnit.SECONDS));
+        assertEquals(1, interceptor.stats().rejected());
+        assertEquals(0, interceptor.stats().inUse());
+    }
+
+    @Test
+    void disabledInterceptorPassesThrough() {
+        // Given
+        AdmissionConfiguration configuration = configuration(1, Duration.ofMillis(50));
+        configuration.setEnabled(false);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(configuration);
+        when(outer.proceed()).thenReturn("value");
+
+        // When
+        Object result = interceptor.intercept(outer);
+
+        // Then
+        assertEquals("value", result);
+        assertEquals(0, interceptor.stats().admitted());
+    }
+
+    private static AdmissionConfiguration configuration(int maxConcurrent, Duration acquireTimeout) {
+        AdmissionConfiguration configuration = new AdmissionConfiguration();
+        configuration.setMaxConcurrent(maxConcurrent);
+        configuration.setAcquireTimeout(acquireTimeout);
+        return configuration;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.type.ReturnType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MeasuredInterceptorTest {
+
+    @Mock
+    private MethodInvocationContext<Object, Object> context;
+
+    @Mock
+    private ReturnType<Object> returnType;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MeasuredInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new MeasuredInterceptor(meterRegistry);
+    }
+
+    @Test
+    void synchronousCallIsTimedWithLayerClassAndMethod() {
+        // Given
+        stubInvocation();
+        when(context.proceed()).thenReturn("value");
+
+        // When
+        Object result = interceptor.intercept(context);
+
+        // Then
+        assertEquals("value", result);
+        Timer timer = timer("none");
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void failureIsTaggedWithExceptionAndRethrown() {
+        // Given
+        stubInvocation();
+        when(context.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> interceptor.intercept(context));
+        assertEquals(1, timer("IllegalStateException").count());
+    }
+
+    @Test
+    void reactiveResultIsTimedOnSubscription() {
+        // Given
+        stubInvocation();
+        when(context.getReturnType()).thenReturn(returnType);
+        doReturn(Mono.class).when(returnType).getType();
+        when(context.proceed()).thenReturn(Mono.just("value"));
+
+        // When
+        Object result = interceptor.intercept(context);
+
+        // Then
+        assertNull(timer("none"));
+        assertEquals("value", ((Mono<?>) result).block());
+        assertEquals(1, timer("none").count());
+    }
+
+    @Test
+    void componentResolvesPlainClassName() {
+        assertEquals("MeasuredInterceptorTest", MeasuredInterceptor.component(MeasuredInterceptorTest.class));
+    }
+
+    private void stubInvocation() {
+        when(context.stringValue(Measured.class)).thenReturn(Optional.of(Layer.DB));
+        when(context.getTarget()).thenReturn(this);
+        when(context.getMethodName()).thenReturn("findByUsername");
+    }
+
+    private Timer timer(String exception) {
+        return meterRegistry.find(MeasuredInterceptor.METRIC)
+            .tags(Layer.TAG, Layer.DB,
+                "class", "MeasuredInterceptorTest",
+                "method", "findByUsername",
+                "exception", exception)
+            .timer();
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.repository;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.service.PageCursor;
+import com.example.service.UserSearchField;
+import com.example.service.UserSearchQuery;
+import com.example.service.UserService;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+class UserRepositoryQueryCountTest {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    RoleRepository roleRepository;
+
+    @Inject
+    UserNaturalIdRepository naturalIdRepository;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    UserSearchRepository searchRepository;
+
+    @Inject
+    UserPasswordRepository passwordRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Role userRole = roleRepository.findByName(Role.RoleName.USER).orElseThrow();
+        Role moderatorRole = roleRepository.findByName(Role.RoleName.MODERATOR).orElseThrow();
+
+        users = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User user = new User("querycount" + i, "querycount" + i + "@example.com", "password123");
+            user.setRoles(i % 2 == 0 ? Set.of(userRole) : Set.of(userRole, moderatorRole));
+            users.add(user);
+        }
+        users = new ArrayList<>(userRepository.saveAll(users));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void pageOfThousandUsersLoadsInConstantQueries() {
+        // Given
+        statistics.clear();
+
+        // When
+        List<Long> ids = userRepository.findIdByIdGreaterThanOrderById(0L, Pageable.from(0, PAGE_SIZE));
+        List<User> page = userRepository.findByIdInOrderById(ids);
+        int roleCount = page.stream().mapToInt(user -> user.getRoles().size()).sum();
+
+        // Then
+        assertEquals(PAGE_SIZE, page.size());
+        assertTrue(roleCount >= PAGE_SIZE);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void warmLoginLookupIssuesNoStatements() {
+        // Given
+        naturalIdRepository.findByUsername("querycount1").orElseThrow();
+        statistics.clear();
+
+        // When
+        User user = naturalIdRepository.findByUsername("querycount1").orElseThrow();
+
+        // Then: username -> id from the natural-id region, user and roles from theirs
+        assertEquals(2, user.getRoles().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= 1);
+    }
+
+    @Test
+    void coldLoginLookupLoadsUserAndRolesInTwoStatements() {
+        // Given
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // When
+        User user = naturalIdRepository.findByUsername("querycount1").orElseThrow();
+
+        // Then
+        assertEquals(2, user.getRoles().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+            "prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void passwordHashSwapEvictsOnlyThatUser() {
+        // Given
+        User changed = naturalIdRepository.findByUsername("querycount1").orElseThrow();
+        naturalIdRepository.findByUsername("querycount2").orElseThrow();
+
+        // When
+        int updated = passwordRepository.updatePasswordHash(changed.getId(), "password123", "rehashed");
+
+        // Then
+        assertEquals(1, updated);
+        assertFalse(entityManagerFactory.getCache().contains(User.class, changed.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(User.class, users.get(2).getId()));
+        assertEquals("rehashed", naturalIdRepository.findByUsername("querycount1").orElseThrow().getPassword());
+    }
+
+    @Test
+    void existsChecksResolveIdsWithoutLoadingUsers() {
+        // Given
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // When
+        boolean username = naturalIdRepository.existsByUsername("querycount3");
+        boolean missing = naturalIdRepository.existsByUsername("querycount-missing");
+
+        // Then
+        assertTrue(username);
+        assertFalse(missing);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void registrationIssuesNoLookupStatements() {
+        // Given
+        Role userRole = roleRepository.findByName(Role.RoleName.USER).orElseThrow();
+        User user = new User("registered", "registered@example.com", "password123");
+        user.setRoles(Set.of(userRole));
+        statistics.clear();
+
+        // When
+        users.add(userRepository.saveAndFlush(user));
+
+        // Then: the insert caches the username -> id resolution instead of querying for it
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getNaturalIdQueryExecutionCount());
+        assertTrue(naturalIdRepository.existsByUsername("registered"));
+        assertEquals(0, statistics.getNaturalIdQueryExecutionCount());
+    }
+
+    @Test
+    void repeatedFindByIdIsServedFromSecondLevelCache() {
+        // Given
+        Long id = users.get(1).getId();
+        userRepository.findById(id).orElseThrow();
+        statistics.clear();
+
+        // When
+        User user = userRepository.findById(id).orElseThrow();
+
+        // Then
+        assertEquals(2, user.getRoles().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+    }
+
+    @Test
+    void lookupTransactionsAreNeverFlushed() {
+        // Given
+        statistics.clear();
+
+        // When
+        List<User> all = userService.findAllUsers();
+        userService.findUserPage(null, 100);
+        userService.findById(users.get(1).getId()).orElseThrow();
+        userService.findByUsername("querycount2").orElseThrow();
+
+        // Then: FlushMode.MANUAL skips the flush and its dirty check at every commit
+        assertTrue(all.size() >= PAGE_SIZE);
+        assertEquals(0, statistics.getFlushCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void prefixSearchPagesInTwoStatementsPerPage() {
+        // Given
+        UserSearchQuery query = new UserSearchQuery(UserSearchField.EMAIL, "querycount1", Role.RoleName.MODERATOR, true);
+        statistics.clear();
+
+        // When
+        List<User> first = searchRepository.search(query, null, 20);
+        User last = first.get(first.size() - 1);
+        List<User> second = searchRepository.search(query, new PageCursor.Key(last.getEmail(), last.getId()), 20);
+
+        // Then: 1, 10-19 and 100-199 match the prefix; the odd ones are moderators
+        assertEquals(20, first.size());
+        assertEquals(20, second.size());
+        assertTrue(first.stream().allMatch(user -> user.getEmail().startsWith("querycount1")
+            && user.getRoles().stream().anyMatch(role -> role.getName() == Role.RoleName.MODERATOR)));
+        assertTrue(last.getEmail().compareTo(second.get(0).getEmail()) < 0);
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void saveAllBatchesInsertsAndAllocatesIdsInBlocks() {
+        // Given
+        Role userRole = roleRepository.findByName(Role.RoleName.USER).orElseThrow();
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User user = new User("batched" + i, "batched" + i + "@example.com", "password123");
+            user.setRoles(Set.of(userRole));
+            batch.add(user);
+        }
+        statistics.clear();
+
+        // When
+        batch = userRepository.saveAll(batch);
+        users.addAll(batch);
+
+        // Then: one statement per JDBC batch and per id block, not per row
+        assertEquals(PAGE_SIZE, batch.stream().map(User::getId).distinct().count());
+        assertTrue(statistics.getPrepareStatementCount() < PAGE_SIZE / 10,
+            "prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
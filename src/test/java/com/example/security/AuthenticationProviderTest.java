@@ -0,0 +1,204 @@
+package com.example.security;
+
+import com.example.audit.AuditLog;
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserSnapshot;
+import com.example.entity.AuditEvent;
+import com.example.entity.Role;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserNaturalIdRepository;
+import com.example.repository.UserPasswordRepository;
+import com.example.repository.UserRepository;
+import com.example.service.LoginActivityTracker;
+import com.example.service.ReactiveUserService;
+import com.example.service.RoleRegistry;
+import com.example.service.UserCacheConfiguration;
+import com.example.service.UserChangedEvent;
+import com.example.service.UserListingConfiguration;
+import com.example.service.UserPrincipalCache;
+import com.example.service.UserRegistrationWriter;
+import com.example.service.UserService;
+import com.example.service.UserSnapshotLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+import io.micronaut.security.authentication.AuthenticationFailed;
+import io.micronaut.security.authentication.AuthenticationFailureReason;
+import io.micronaut.security.authentication.AuthenticationResponse;
+import io.micronaut.security.authentication.UsernamePasswordCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationProviderTest {
+
+    private static final String PASSWORD_HASH = BCrypt.hashpw("password123", BCrypt.gensalt(10));
+
+    @Mock
+    private ReactiveUserService reactiveUserService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserNaturalIdRepository naturalIdRepository;
+
+    @Mock
+    private UserPasswordRepository passwordRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ApplicationEventPublisher<UserChangedEvent> eventPublisher;
+
+    @Mock
+    private HttpClientAddressResolver clientAddressResolver;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private ReplicaRouting replicaRouting;
+
+    @Mock
+    private LoginActivityTracker loginActivityTracker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+    private UserService userService;
+    private AuthenticationProvider authenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingConfiguration hashingConfiguration = new PasswordHashingConfiguration();
+        hashingConfiguration.setCost(10);
+        passwordHasher = new PasswordHasher(hashingConfiguration, meterRegistry);
+        userService = new UserService(userRepository, naturalIdRepository, passwordRepository,
+            new RoleRegistry(roleRepository), passwordHasher,
+            new VerifiedCredentialCache(new CredentialCacheConfiguration()),
+            new UserPrincipalCache(new UserCacheConfiguration()), new UserSnapshotLoader(userRepository),
+            new UserRegistrationWriter(userRepository), eventPublisher,
+            auditLog, new UserListingConfiguration(), replicaRouting);
+        LoginRateLimitConfiguration rateLimitConfiguration = new LoginRateLimitConfiguration();
+        rateLimitConfiguration.setEnabled(false);
+        authenticationProvider = provider(rateLimitConfiguration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void unknownUserIsRejectedLikeWrongPasswordAfterHashing() {
+        // Given
+        when(reactiveUserService.findSnapshotByUsername("ghost")).thenReturn(Mono.empty());
+
+        // When
+        AuthenticationResponse response = login("ghost", "password123");
+
+        // Then
+        assertFalse(response.isAuthenticated());
+        assertEquals(AuthenticationFailureReason.CREDENTIALS_DO_NOT_MATCH, ((AuthenticationFailed) response).getReason());
+        assertEquals(1, passwordHasher.stats().verifyCount());
+        verify(auditLog).record(AuditEvent.Type.LOGIN_FAILED, null, "ghost", null);
+        verifyNoInteractions(loginActivityTracker);
+    }
+
+    @Test
+    void disabledUserIsRejectedAfterHashing() {
+        // Given
+        when(reactiveUserService.findSnapshotByUsername("testuser")).thenReturn(Mono.just(snapshot(false)));
+
+        // When
+        AuthenticationResponse response = login("testuser", "password123");
+
+        // Then
+        assertFalse(response.isAuthenticated());
+        assertEquals(1, passwordHasher.stats().verifyCount());
+    }
+
+    @Test
+    void throttledLoginSkipsLookupAndHashing() {
+        // Given
+        LoginRateLimitConfiguration rateLimitConfiguration = new LoginRateLimitConfiguration();
+        rateLimitConfiguration.setUsernameCapacity(2);
+        authenticationProvider = provider(rateLimitConfiguration);
+        when(reactiveUserService.findSnapshotByUsername("testuser")).thenReturn(Mono.just(snapshot(true)));
+        login("testuser", "wrongpassword");
+        login("testuser", "wrongpassword");
+
+        // When & Then
+        assertThrows(LoginThrottledException.class, () -> login("testuser", "password123"));
+        verify(reactiveUserService, times(2)).findSnapshotByUsername("testuser");
+        assertEquals(2, passwordHasher.stats().verifyCount());
+        verify(auditLog).record(AuditEvent.Type.LOGIN_THROTTLED, null, "testuser", null);
+    }
+
+    @Test
+    void successfulLoginUpgradesStaleHashInBackground() {
+        // Given
+        UserSnapshot stale = snapshot(true, BCrypt.hashpw("password123", BCrypt.gensalt(4)));
+        when(reactiveUserService.findSnapshotByUsername("testuser")).thenReturn(Mono.just(stale));
+        when(reactiveUserService.replacePasswordHash(eq(stale), anyString())).thenReturn(Mono.just(true));
+
+        // When
+        AuthenticationResponse response = login("testuser", "password123");
+
+        // Then
+        assertTrue(response.isAuthenticated());
+        verify(reactiveUserService, timeout(5_000))
+            .replacePasswordHash(eq(stale), argThat(hash -> BCrypt.checkpw("password123", hash)
+                && BCryptPasswordHashAlgorithm.costOf(hash) == 10));
+    }
+
+    @Test
+    void currentHashIsNotUpgraded() {
+        // Given
+        when(reactiveUserService.findSnapshotByUsername("testuser")).thenReturn(Mono.just(snapshot(true)));
+
+        // When
+        AuthenticationResponse response = login("testuser", "password123");
+
+        // Then
+        assertTrue(response.isAuthenticated());
+        verify(reactiveUserService, never()).replacePasswordHash(any(), any());
+        verify(auditLog).record(AuditEvent.Type.LOGIN_SUCCEEDED, 1L, "testuser", null);
+        verify(loginActivityTracker).recordLogin(1L);
+    }
+
+    private AuthenticationProvider provider(LoginRateLimitConfiguration rateLimitConfiguration) {
+        return new AuthenticationProvider(reactiveUserService, userService,
+            new LoginRateLimiter(rateLimitConfiguration, meterRegistry), clientAddressResolver, auditLog,
+            loginActivityTracker);
+    }
+
+    private AuthenticationResponse login(String username, String password) {
+        return Mono.from(authenticationProvider.authenticate(null,
+            new UsernamePasswordCredentials(username, password))).block();
+    }
+
+    private static UserSnapshot snapshot(boolean enabled) {
+        return snapshot(enabled, PASSWORD_HASH);
+    }
+
+    private static UserSnapshot snapshot(boolean enabled, String passwordHash) {
+        return new UserSnapshot(1L, "testuser", "test@example.com", "Test", "User", enabled,
+            LocalDateTime.of(2024, 1, 1, 0, 0), Set.of(Role.RoleName.USER), passwordHash);
+    }
+}
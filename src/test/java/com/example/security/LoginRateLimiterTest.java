@@ -0,0 +1,105 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void usernameBurstIsAllowedThenThrottledUntilRefill() {
+        // Given
+        LoginRateLimiter limiter = limiter(new LoginRateLimitConfiguration());
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("testuser", "10.0.0.1").isEmpty());
+        }
+        Duration retryAfter = limiter.tryAcquire("testuser", "10.0.0.1").orElseThrow();
+
+        // Then
+        assertEquals(Duration.ofSeconds(12), retryAfter);
+        assertTrue(limiter.tryAcquire("otheruser", "10.0.0.1").isEmpty());
+
+        clock.instant = NOW.plus(retryAfter);
+        assertTrue(limiter.tryAcquire("testuser", "10.0.0.1").isEmpty());
+        assertTrue(limiter.tryAcquire("testuser", "10.0.0.1").isPresent());
+        assertEquals(2.0, meterRegistry.get("login.throttled").tag("scope", "username").counter().count());
+    }
+
+    @Test
+    void clientAddressIsThrottledAcrossUsernames() {
+        // Given
+        LoginRateLimitConfiguration configuration = new LoginRateLimitConfiguration();
+        configuration.setClientCapacity(3);
+        LoginRateLimiter limiter = limiter(configuration);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user" + i, "10.0.0.1").isEmpty());
+        }
+
+        // Then
+        assertTrue(limiter.tryAcquire("user3", "10.0.0.1").isPresent());
+        assertTrue(limiter.tryAcquire("user3", "10.0.0.2").isEmpty());
+        assertEquals(1.0, meterRegistry.get("login.throttled").tag("scope", "client").counter().count());
+    }
+
+    @Test
+    void disabledLimiterNeverThrottles() {
+        // Given
+        LoginRateLimitConfiguration configuration = new LoginRateLimitConfiguration();
+        configuration.setEnabled(false);
+        LoginRateLimiter limiter = limiter(configuration);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("testuser", null).isEmpty());
+        }
+    }
+
+    private LoginRateLimiter limiter(LoginRateLimitConfiguration configuration) {
+        return new LoginRateLimiter(configuration, clock, meterRegistry);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long millis() {
+            return instant.toEpochMilli();
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
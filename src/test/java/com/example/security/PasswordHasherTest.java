@@ -0,0 +1,148 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void hashAndVerify() {
+        // Given
+        passwordHasher = new PasswordHasher(configuration(2, 4), new SimpleMeterRegistry());
+
+        // When
+        String hashed = passwordHasher.hash("password123");
+
+        // Then
+        assertTrue(BCrypt.checkpw("password123", hashed));
+        assertTrue(passwordHasher.verify("password123", hashed));
+        assertFalse(passwordHasher.verify("wrongpassword", hashed));
+
+        PasswordHashingStats stats = passwordHasher.stats();
+        assertEquals(1, stats.hashCount());
+        assertEquals(2, stats.verifyCount());
+        assertTrue(stats.meanHashMillis() > 0);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        // Given
+        passwordHasher = new PasswordHasher(configuration(1, 1), new SimpleMeterRegistry());
+        String hashed = BCrypt.hashpw("password123", BCrypt.gensalt());
+
+        // When
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(passwordHasher.verifyAsync("password123", hashed));
+        }
+
+        // Then
+        long rejected = futures.stream()
+            .filter(future -> {
+                try {
+                    future.join();
+                    return false;
+                } catch (CompletionException e) {
+                    return e.getCause() instanceof PasswordHashingRejectedException;
+                }
+            })
+            .count();
+        assertTrue(rejected > 0);
+        assertEquals(rejected, passwordHasher.stats().rejected());
+    }
+
+    @Test
+    void blockingCallsRethrowRejection() {
+        // Given
+        passwordHasher = new PasswordHasher(configuration(1, 1), new SimpleMeterRegistry());
+        String hashed = BCrypt.hashpw("password123", BCrypt.gensalt());
+        passwordHasher.verifyAsync("password123", hashed);
+        passwordHasher.verifyAsync("password123", hashed);
+
+        // When & Then
+        assertThrows(PasswordHashingRejectedException.class,
+            () -> passwordHasher.verify("password123", hashed));
+    }
+
+    @Test
+    void staleCostIsFlaggedForRehash() {
+        // Given
+        PasswordHashingConfiguration configuration = configuration(1, 4);
+        configuration.setCost(5);
+        passwordHasher = new PasswordHasher(configuration, new SimpleMeterRegistry());
+        String stale = BCrypt.hashpw("password123", BCrypt.gensalt(4));
+
+        // When
+        String fresh = passwordHasher.hash("password123");
+
+        // Then
+        assertTrue(passwordHasher.verify("password123", stale));
+        assertTrue(passwordHasher.needsRehash(stale));
+        assertFalse(passwordHasher.needsRehash(fresh));
+        assertEquals(5, BCryptPasswordHashAlgorithm.costOf(fresh));
+        assertEquals(5, passwordHasher.stats().cost());
+    }
+
+    @Test
+    void strongerStoredHashIsNotRehashedDownward() {
+        // Given
+        PasswordHashingConfiguration configuration = configuration(1, 4);
+        configuration.setCost(4);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(configuration, meterRegistry);
+        String stronger = BCrypt.hashpw("password123", BCrypt.gensalt(5));
+
+        // When
+        boolean rehash = passwordHasher.needsRehash(stronger);
+
+        // Then
+        assertFalse(rehash);
+        assertEquals(1.0, meterRegistry.get("password.hashing.stored.cost.above.current").counter().count());
+    }
+
+    @Test
+    void unrecognisedHashIsRejectedNotRehashed() {
+        // Given
+        PasswordHashingConfiguration configuration = configuration(1, 4);
+        configuration.setCost(4);
+        passwordHasher = new PasswordHasher(configuration, new SimpleMeterRegistry());
+
+        // When & Then
+        assertFalse(passwordHasher.verify("password123", "{noop}password123"));
+        assertFalse(passwordHasher.needsRehash("{noop}password123"));
+    }
+
+    @Test
+    void calibrationStaysWithinBoundsAndTracksTarget() {
+        assertEquals(4, BCryptPasswordHashAlgorithm.calibrate(Duration.ZERO, 4, 12));
+        assertEquals(6, BCryptPasswordHashAlgorithm.calibrate(Duration.ofHours(1), 4, 6));
+        int cost = BCryptPasswordHashAlgorithm.calibrate(Duration.ofMillis(20), 4, 12);
+        assertTrue(cost > 4 && cost < 12, "calibrated cost: " + cost);
+    }
+
+    private static PasswordHashingConfiguration configuration(int poolSize, int queueCapacity) {
+        PasswordHashingConfiguration configuration = new PasswordHashingConfiguration();
+        configuration.setPoolSize(poolSize);
+        configuration.setQueueCapacity(queueCapacity);
+        return configuration;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.security;
+
+import com.example.service.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.security.authentication.Authentication;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration LIFETIME = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tokenIssuedBeforeRevocationIsRejected() {
+        // Given
+        TokenRevocationStore store = store(new TokenRevocationConfiguration());
+        Authentication issuedEarlier = authentication(7, NOW.minusSeconds(30));
+
+        // When
+        store.revoke(7L);
+
+        // Then
+        assertTrue(store.isRevoked(issuedEarlier));
+        assertTrue(store.isRevoked(authentication(7, NOW)));
+    }
+
+    @Test
+    void tokenIssuedAfterRevocationAndOtherUsersAreAccepted() {
+        // Given
+        TokenRevocationStore store = store(new TokenRevocationConfiguration());
+        store.revoke(7L);
+
+        // When & Then
+        assertFalse(store.isRevoked(authentication(7, NOW.plusSeconds(1))));
+        assertFalse(store.isRevoked(authentication(8, NOW.minusSeconds(30))));
+        assertFalse(store.isRevoked(Authentication.build("legacy", List.of("ROLE_USER"), Map.of())));
+    }
+
+    @Test
+    void onlyAccessRevokingChangesAreRecorded() {
+        // Given
+        TokenRevocationStore store = store(new TokenRevocationConfiguration());
+
+        // When
+        store.onUserChanged(new UserChangedEvent(7L, "testuser"));
+        store.onUserChanged(new UserChangedEvent(8L, "other", true));
+
+        // Then
+        assertFalse(store.isRevoked(authentication(7, NOW.minusSeconds(30))));
+        assertTrue(store.isRevoked(authentication(8, NOW.minusSeconds(30))));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void compactionDropsEntriesOnceNoTokenCanOutliveThem() {
+        // Given
+        TokenRevocationStore store = store(new TokenRevocationConfiguration());
+        store.revoke(7L);
+        clock.instant = NOW.plus(LIFETIME).minusSeconds(1);
+        store.revoke(8L);
+
+        // When
+        clock.instant = NOW.plus(LIFETIME).plusSeconds(1);
+        store.compact();
+
+        // Then
+        assertEquals(1, store.size());
+        assertFalse(store.isRevoked(authentication(7, NOW.minusSeconds(30))));
+        assertTrue(store.isRevoked(authentication(8, NOW)));
+        assertEquals(1.0, meterRegistry.get("token.revocation.compactions").functionCounter().count());
+    }
+
+    @Test
+    void disabledStoreNeverRevokes() {
+        // Given
+        TokenRevocationConfiguration configuration = new TokenRevocationConfiguration();
+        configuration.setEnabled(false);
+        TokenRevocationStore store = store(configuration);
+
+        // When
+        store.revoke(7L);
+
+        // Then
+        assertFalse(store.isRevoked(authentication(7, NOW.minusSeconds(30))));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        // When
+        for (long id = 0; id < 1_000; id++) {
+            filter.put(id);
+        }
+
+        // Then
+        for (long id = 0; id < 1_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+        long falsePositives = 0;
+        for (long id = 1_000; id < 11_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    private TokenRevocationStore store(TokenRevocationConfiguration configuration) {
+        return new TokenRevocationStore(configuration, LIFETIME, clock, meterRegistry);
+    }
+
+    private static Authentication authentication(int userId, Instant issuedAt) {
+        return Authentication.build("testuser", List.of("ROLE_USER"),
+            Map.of("uid", userId, "iat", Date.from(issuedAt)));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.security;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrustedProxyClientAddressResolverTest {
+
+    @Mock
+    private HttpRequest<Object> request;
+
+    @Mock
+    private HttpClientAddressResolver headerResolver;
+
+    @Test
+    void forwardingHeadersAreIgnoredUnlessConfigured() {
+        // Given
+        TrustedProxyClientAddressResolver resolver = new TrustedProxyClientAddressResolver(false, headerResolver);
+        when(request.getRemoteAddress()).thenReturn(new InetSocketAddress("10.0.0.7", 52000));
+
+        // When
+        String address = resolver.resolve(request);
+
+        // Then
+        assertEquals("10.0.0.7", address);
+        verify(request, never()).getHeaders();
+        verifyNoInteractions(headerResolver);
+    }
+
+    @Test
+    void configuredHeaderIsTrusted() {
+        // Given
+        TrustedProxyClientAddressResolver resolver = new TrustedProxyClientAddressResolver(true, headerResolver);
+        when(headerResolver.resolve(request)).thenReturn("198.51.100.4");
+
+        // When
+        String address = resolver.resolve(request);
+
+        // Then
+        assertEquals("198.51.100.4", address);
+        verify(request, never()).getRemoteAddress();
+    }
+}
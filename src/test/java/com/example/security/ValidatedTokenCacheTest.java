@@ -0,0 +1,105 @@
+package com.example.security;
+
+import io.micronaut.security.authentication.Authentication;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final String TOKEN = "header.payload.signature";
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void returnsCachedAuthenticationUntilExp() {
+        // Given
+        ValidatedTokenCache tokenCache = new ValidatedTokenCache(new TokenCacheConfiguration(), clock);
+        Authentication authentication = authentication(Map.of("exp", Date.from(NOW.plusSeconds(60)), "uid", 7));
+        tokenCache.put(TOKEN, authentication);
+
+        // When & Then
+        assertSame(authentication, tokenCache.get(TOKEN).orElseThrow());
+        assertTrue(tokenCache.get("other.token.value").isEmpty());
+
+        clock.instant = NOW.plusSeconds(60);
+        assertTrue(tokenCache.get(TOKEN).isEmpty());
+
+        TokenCacheStats stats = tokenCache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    void tokensWithoutFutureExpAreNotCached() {
+        // Given
+        ValidatedTokenCache tokenCache = new ValidatedTokenCache(new TokenCacheConfiguration(), clock);
+
+        // When
+        tokenCache.put("no.exp.claim", authentication(Map.of("uid", 7)));
+        tokenCache.put("already.expired.token", authentication(Map.of("exp", Date.from(NOW.minusSeconds(1)))));
+
+        // Then
+        assertTrue(tokenCache.get("no.exp.claim").isEmpty());
+        assertTrue(tokenCache.get("already.expired.token").isEmpty());
+    }
+
+    @Test
+    void disabledCacheNeverHits() {
+        // Given
+        TokenCacheConfiguration configuration = new TokenCacheConfiguration();
+        configuration.setEnabled(false);
+        ValidatedTokenCache tokenCache = new ValidatedTokenCache(configuration, clock);
+
+        // When
+        tokenCache.put(TOKEN, authentication(Map.of("exp", Date.from(NOW.plusSeconds(60)))));
+
+        // Then
+        assertTrue(tokenCache.get(TOKEN).isEmpty());
+        assertEquals(0, tokenCache.stats().size());
+    }
+
+    @Test
+    void userIdClaimIsReadWhateverTheNumberType() {
+        assertEquals(7L, TokenClaims.userId(authentication(Map.of("uid", 7))).orElseThrow());
+        assertEquals(7L, TokenClaims.userId(authentication(Map.of("uid", 7L))).orElseThrow());
+        assertTrue(TokenClaims.userId(authentication(Map.of())).isEmpty());
+    }
+
+    private static Authentication authentication(Map<String, Object> attributes) {
+        return Authentication.build("testuser", List.of("ROLE_USER"), attributes);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedCredentialCacheTest {
+
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuu7Yd1p5mQ9V0V3R9w3O2zYyZ8qH9K1e";
+
+    private VerifiedCredentialCache credentialCache;
+
+    @BeforeEach
+    void setUp() {
+        CredentialCacheConfiguration configuration = new CredentialCacheConfiguration();
+        configuration.setEnabled(true);
+        credentialCache = new VerifiedCredentialCache(configuration);
+    }
+
+    @Test
+    void matchesRecordedCredential() {
+        // Given
+        credentialCache.record(1L, "testuser", HASH, "password123");
+
+        // Then
+        assertTrue(credentialCache.matches("testuser", HASH, "password123"));
+        assertFalse(credentialCache.matches("testuser", HASH, "wrongpassword"));
+        assertFalse(credentialCache.matches("otheruser", HASH, "password123"));
+
+        CredentialCacheStats stats = credentialCache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    void changedHashDoesNotMatch() {
+        // Given
+        credentialCache.record(1L, "testuser", HASH, "password123");
+
+        // Then
+        assertFalse(credentialCache.matches("testuser", HASH + "x", "password123"));
+    }
+
+    @Test
+    void invalidateByUsernameAndId() {
+        // Given
+        credentialCache.record(1L, "testuser", HASH, "password123");
+        credentialCache.record(2L, "otheruser", HASH, "password456");
+
+        // When
+        credentialCache.invalidate("testuser");
+        credentialCache.invalidateUserId(2L);
+
+        // Then
+        assertFalse(credentialCache.matches("testuser", HASH, "password123"));
+        assertFalse(credentialCache.matches("otheruser", HASH, "password456"));
+    }
+
+    @Test
+    void disabledCacheNeverMatches() {
+        // Given
+        credentialCache = new VerifiedCredentialCache(new CredentialCacheConfiguration());
+        credentialCache.record(1L, "testuser", HASH, "password123");
+
+        // Then
+        assertFalse(credentialCache.matches("testuser", HASH, "password123"));
+        assertEquals(0, credentialCache.stats().size());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.service;
+
+import com.example.dto.BulkImportResult;
+import com.example.dto.BulkImportSummary;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import com.example.security.PasswordHasher;
+import com.example.security.PasswordHashingConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.json.JsonMapper;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkUserImporterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private Validator validator;
+
+    private PasswordHasher passwordHasher;
+
+    private BulkUserImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = new Role(Role.RoleName.USER, "Regular user role");
+        userRole.setId(1L);
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+        when(validator.validate(any())).thenReturn(Set.of());
+
+        BulkImportConfiguration configuration = new BulkImportConfiguration();
+        configuration.setChunkSize(2);
+        configuration.setHashingThreads(2);
+        passwordHasher = new PasswordHasher(new PasswordHashingConfiguration(), new SimpleMeterRegistry());
+        importer = new BulkUserImporter(userRepository, new RoleRegistry(roleRepository), passwordHasher,
+            JsonMapper.createDefault(), validator, configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_Csv_ReportsEachRowAndSavesPerChunk() {
+        // Given
+        String csv = """
+            username,email,password,first_name,last_name
+            alice,alice@example.com,password123,Alice,"Smith, Jr."
+            alice,other@example.com,password123,,
+            bob,taken@example.com,password123,Bob,Jones
+            """;
+        when(userRepository.findUsernameByUsernameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findEmailByEmailIn(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        // When
+        List<BulkImportResult> results = new ArrayList<>();
+        BulkImportSummary summary = importer.importUsers(reader(csv), BulkUserImporter.Format.CSV, results::add);
+
+        // Then
+        assertEquals(3, summary.total());
+        assertEquals(1, summary.created());
+        assertEquals(2, summary.duplicates());
+        assertEquals(BulkImportResult.Status.CREATED, statusOfLine(results, 2));
+        assertEquals(BulkImportResult.Status.DUPLICATE, statusOfLine(results, 3));
+        assertEquals(BulkImportResult.Status.DUPLICATE, statusOfLine(results, 4));
+        ArgumentCaptor<Iterable<User>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(userRepository).saveAll(saved.capture());
+        User alice = saved.getValue().iterator().next();
+        assertEquals("Smith, Jr.", alice.getLastName());
+        assertTrue(BCrypt.checkpw("password123", alice.getPassword()));
+        assertEquals(1, alice.getRoles().size());
+    }
+
+    @Test
+    void importUsers_Ndjson_MalformedLineIsInvalid() {
+        // Given
+        String ndjson = """
+            {"username":"carol","email":"carol@example.com","password":"password123"}
+            {not json
+            """;
+        when(userRepository.findUsernameByUsernameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findEmailByEmailIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<BulkImportResult> results = new ArrayList<>();
+        BulkImportSummary summary = importer.importUsers(reader(ndjson), BulkUserImporter.Format.NDJSON, results::add);
+
+        // Then
+        assertEquals(1, summary.created());
+        assertEquals(1, summary.invalid());
+        assertEquals(BulkImportResult.Status.INVALID, statusOfLine(results, 2));
+    }
+
+    @Test
+    void importUsers_FailedChunkIsReported() {
+        // Given
+        String ndjson = """
+            {"username":"dave","email":"dave@example.com","password":"password123"}
+            """;
+        when(userRepository.findUsernameByUsernameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findEmailByEmailIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.saveAll(anyIterable())).thenThrow(new PersistenceException("unique constraint"));
+
+        // When
+        List<BulkImportResult> results = new ArrayList<>();
+        BulkImportSummary summary = importer.importUsers(reader(ndjson), BulkUserImporter.Format.NDJSON, results::add);
+
+        // Then
+        assertEquals(1, summary.failed());
+        assertEquals(BulkImportResult.Status.FAILED, results.get(0).status());
+    }
+
+    @Test
+    void importUsers_CancellationStopsBeforeNextChunk() {
+        // Given
+        String ndjson = """
+            {"username":"erin","email":"erin@example.com","password":"password123"}
+            {"username":"frank","email":"frank@example.com","password":"password123"}
+            {"username":"grace","email":"grace@example.com","password":"password123"}
+            {"username":"heidi","email":"heidi@example.com","password":"password123"}
+            """;
+        when(userRepository.findUsernameByUsernameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findEmailByEmailIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<BulkImportResult> results = new ArrayList<>();
+        BulkImportSummary summary = importer.importUsers(reader(ndjson), BulkUserImporter.Format.NDJSON, results::add,
+            () -> !results.isEmpty());
+
+        // Then
+        assertEquals(2, summary.created());
+        assertEquals(2, results.size());
+        verify(userRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    void splitCsv_HandlesQuotedFields() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""), BulkUserImporter.splitCsv("a,\"b,c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+    private static BulkImportResult.Status statusOfLine(List<BulkImportResult> results, long line) {
+        return results.stream()
+            .filter(result -> result.line() == line)
+            .findFirst()
+            .map(BulkImportResult::status)
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.service;
+
+import com.example.dto.UserUpdateRequest;
+import com.example.entity.AuditEvent;
+import com.example.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaReactiveUserServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    private final ExecutorService requestExecutor = Executors.newSingleThreadExecutor();
+
+    private JpaReactiveUserService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JpaReactiveUserService(userService, requestExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    void updateIsAuditedOnceTheTransactionReturns() {
+        // Given
+        User user = new User("testuser", "testuser@example.com", "hash");
+        user.setId(1L);
+        UserUpdateRequest update = new UserUpdateRequest();
+        when(userService.updateUser(1L, update)).thenReturn(user);
+
+        // When
+        service.updateUser(1L, update).block();
+
+        // Then
+        InOrder order = inOrder(userService);
+        order.verify(userService).updateUser(1L, update);
+        order.verify(userService).audit(AuditEvent.Type.UPDATED, 1L, "testuser");
+    }
+
+    @Test
+    void deleteIsAuditedWithTheDeletedUsername() {
+        // Given
+        when(userService.deleteUser(1L)).thenReturn("testuser");
+
+        // When
+        service.deleteUser(1L).block();
+
+        // Then
+        verify(userService).audit(AuditEvent.Type.DELETED, 1L, "testuser");
+    }
+
+    @Test
+    void failedUpdateIsNotAudited() {
+        // Given
+        UserUpdateRequest update = new UserUpdateRequest();
+        when(userService.updateUser(1L, update)).thenThrow(new IllegalStateException("uk_users_email"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> service.updateUser(1L, update).block());
+        verify(userService, never()).audit(any(), any(), any());
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.service;
+
+import com.example.dto.LoginActivity;
+import com.example.entity.User;
+import com.example.repository.LoginActivityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginActivityTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private LoginActivityRepository loginActivityRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginActivityTracker(new LoginActivityConfiguration(), loginActivityRepository,
+            entityManagerFactory, clock, meterRegistry);
+    }
+
+    @Test
+    void loginsCoalesceIntoOneRowPerUser() {
+        // Given
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        tracker.recordLogin(1L);
+        clock.instant = NOW.plusSeconds(5);
+        tracker.recordLogin(1L);
+        tracker.recordLogin(2L);
+        clock.instant = NOW.plusSeconds(2);
+        tracker.recordLogin(1L);
+
+        // When
+        tracker.flush();
+
+        // Then: one statement batch for both users, the latest login wins over the last recorded
+        List<LoginActivity> batch = captureBatch();
+        assertEquals(List.of(
+            new LoginActivity(1L, 3, LocalDateTime.of(2025, 1, 1, 0, 0, 5)),
+            new LoginActivity(2L, 1, LocalDateTime.of(2025, 1, 1, 0, 0, 5))),
+            batch.stream().sorted((a, b) -> a.userId().compareTo(b.userId())).toList());
+        verify(cache).evict(User.class, 1L);
+        verify(cache).evict(User.class, 2L);
+    }
+
+    @Test
+    void idleUsersAreNotRewrittenAndThenForgotten() {
+        // Given
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        tracker.recordLogin(1L);
+        tracker.flush();
+
+        // When
+        tracker.flush();
+
+        // Then
+        verify(loginActivityRepository, times(1)).addLogins(anyList());
+        assertEquals(0, tracker.pendingUsers());
+    }
+
+    @Test
+    void failedFlushKeepsActivityForTheNextOne() {
+        // Given
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        doThrow(new IllegalStateException("database down")).doNothing()
+            .when(loginActivityRepository).addLogins(anyList());
+        tracker.recordLogin(1L);
+        tracker.flush();
+        tracker.recordLogin(1L);
+
+        // When
+        tracker.flush();
+
+        // Then
+        ArgumentCaptor<List<LoginActivity>> captor = batchCaptor();
+        verify(loginActivityRepository, times(2)).addLogins(captor.capture());
+        assertEquals(2, captor.getAllValues().get(1).get(0).logins());
+        assertEquals(1.0, meterRegistry.get("login.activity.flushed").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    void batchesAreCappedAtConfiguredSize() {
+        // Given
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        LoginActivityConfiguration configuration = new LoginActivityConfiguration();
+        configuration.setBatchSize(2);
+        tracker = new LoginActivityTracker(configuration, loginActivityRepository, entityManagerFactory, clock, meterRegistry);
+        for (long id = 1; id <= 5; id++) {
+            tracker.recordLogin(id);
+        }
+
+        // When
+        tracker.flush();
+
+        // Then
+        verify(loginActivityRepository, times(3)).addLogins(anyList());
+    }
+
+    @Test
+    void concurrentLoginsAndFlushesLoseNoCount() throws InterruptedException {
+        // Given
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        AtomicLong written = new AtomicLong();
+        doAnswer(invocation -> {
+            List<LoginActivity> batch = invocation.getArgument(0);
+            batch.forEach(row -> written.addAndGet(row.logins()));
+            return null;
+        }).when(loginActivityRepository).addLogins(anyList());
+        int threads = 4;
+        int loginsPerThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < loginsPerThread; i++) {
+                    tracker.recordLogin((long) (i % 3));
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // When: flushes race with the logins, including removals of users that just logged in
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            tracker.flush();
+        }
+        tracker.flush();
+
+        // Then
+        assertEquals((long) threads * loginsPerThread, written.get());
+        assertEquals(0, tracker.pendingUsers());
+    }
+
+    @Test
+    void disabledTrackerWritesNothing() {
+        // Given
+        LoginActivityConfiguration configuration = new LoginActivityConfiguration();
+        configuration.setEnabled(false);
+        tracker = new LoginActivityTracker(configuration, loginActivityRepository, entityManagerFactory, clock, meterRegistry);
+
+        // When
+        tracker.recordLogin(1L);
+        tracker.flush();
+
+        // Then
+        verifyNoInteractions(loginActivityRepository);
+    }
+
+    private List<LoginActivity> captureBatch() {
+        ArgumentCaptor<List<LoginActivity>> captor = batchCaptor();
+        verify(loginActivityRepository).addLogins(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<LoginActivity>> batchCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long millis() {
+            return instant.toEpochMilli();
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.service;
+
+import com.example.dto.UserUpdateRequest;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import com.example.security.TokenClaims;
+import com.example.security.TokenRevocationStore;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// R2DBC writes run outside any JPA transaction, where after-commit listeners are skipped
+@MicronautTest(transactional = false)
+@Property(name = DataAccessMode.PROPERTY, value = DataAccessMode.R2DBC)
+class R2dbcTokenRevocationIntegrationTest {
+
+    @Inject
+    ReactiveUserService userService;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    RoleRepository roleRepository;
+
+    @Inject
+    TokenRevocationStore revocationStore;
+
+    private User user;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(user.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void disablingRevokesTokensIssuedBefore() {
+        // Given
+        user = save("r2dbc-disabled");
+        Authentication token = issuedNow(user);
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setEmail(user.getEmail());
+        update.setEnabled(false);
+
+        // When
+        userService.updateUser(user.getId(), update).block();
+
+        // Then
+        assertInstanceOf(R2dbcUserService.class, userService);
+        assertTrue(revocationStore.isRevoked(token));
+    }
+
+    @Test
+    void deletingRevokesTokensIssuedBefore() {
+        // Given
+        user = save("r2dbc-deleted");
+        Authentication token = issuedNow(user);
+
+        // When
+        userService.deleteUser(user.getId()).block();
+
+        // Then
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertTrue(revocationStore.isRevoked(token));
+    }
+
+    private User save(String username) {
+        User created = new User(username, username + "@example.com", "hash");
+        created.setRoles(Set.of(roleRepository.findByName(Role.RoleName.USER).orElseThrow()));
+        return userRepository.save(created);
+    }
+
+    private static Authentication issuedNow(User user) {
+        return Authentication.build(user.getUsername(), List.of("ROLE_USER"),
+            Map.of(TokenClaims.USER_ID, user.getId(), "iat", Instant.now().getEpochSecond()));
+    }
+}
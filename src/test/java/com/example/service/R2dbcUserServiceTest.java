@@ -0,0 +1,272 @@
+package com.example.service;
+
+import com.example.audit.AuditLog;
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserPage;
+import com.example.dto.UserRoleRow;
+import com.example.dto.UserSnapshot;
+import com.example.entity.AuditEvent;
+import com.example.entity.Role;
+import com.example.dto.UserUpdateRequest;
+import com.example.repository.ReactiveUserRepository;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserNaturalIdRepository;
+import com.example.repository.UserPasswordRepository;
+import com.example.repository.UserRepository;
+import com.example.security.CredentialCacheConfiguration;
+import com.example.security.PasswordHasher;
+import com.example.security.PasswordHashingConfiguration;
+import com.example.security.TokenRevocationStore;
+import com.example.security.VerifiedCredentialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.transaction.reactive.ReactorReactiveTransactionOperations;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class R2dbcUserServiceTest {
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Mock
+    private ReactorReactiveTransactionOperations<Connection> transactionOperations;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserNaturalIdRepository naturalIdRepository;
+
+    @Mock
+    private UserPasswordRepository passwordRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ApplicationEventPublisher<UserChangedEvent> eventPublisher;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private ReplicaRouting replicaRouting;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    @Mock
+    private SecondLevelCacheEvictor cacheEvictor;
+
+    @Mock
+    private UserSearchIndex searchIndex;
+
+    private UserPrincipalCache principalCache;
+
+    private final ExecutorService requestExecutor = Executors.newSingleThreadExecutor();
+
+    private R2dbcUserService service;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new UserPrincipalCache(new UserCacheConfiguration());
+        VerifiedCredentialCache credentialCache = new VerifiedCredentialCache(new CredentialCacheConfiguration());
+        UserListingConfiguration listingConfiguration = new UserListingConfiguration();
+        listingConfiguration.setDefaultPageSize(2);
+        UserService userService = new UserService(userRepository, naturalIdRepository, passwordRepository,
+            new RoleRegistry(roleRepository),
+            new PasswordHasher(new PasswordHashingConfiguration(), new SimpleMeterRegistry()), credentialCache,
+            principalCache, new UserSnapshotLoader(userRepository),
+            new UserRegistrationWriter(userRepository), eventPublisher, auditLog, listingConfiguration,
+            replicaRouting);
+        service = new R2dbcUserService(reactiveUserRepository, transactionOperations, userService,
+            principalCache, credentialCache, revocationStore, cacheEvictor, searchIndex,
+            requestExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    void snapshotLookupIsServedFromCacheAfterFirstQuery() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsByUsername("testuser"))
+            .thenReturn(Flux.just(row(1L, "testuser", Role.RoleName.USER), row(1L, "testuser", Role.RoleName.ADMIN)));
+
+        // When
+        UserSnapshot first = service.findSnapshotByUsername("testuser").block();
+        UserSnapshot second = service.findSnapshotByUsername("testuser").block();
+
+        // Then
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(2, first.roles().size());
+        verify(reactiveUserRepository, times(1)).findRoleRowsByUsername("testuser");
+    }
+
+    @Test
+    void unknownUsernameCompletesEmpty() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsByUsername("ghost")).thenReturn(Flux.empty());
+
+        // When
+        UserSnapshot result = service.findSnapshotByUsername("ghost").block();
+
+        // Then
+        assertNull(result);
+        assertTrue(principalCache.getIfPresent("ghost").isEmpty());
+    }
+
+    @Test
+    void fullPageCarriesCursorToLastId() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsPage(0L, 2)).thenReturn(Flux.just(
+            row(3L, "alice", Role.RoleName.USER),
+            row(3L, "alice", Role.RoleName.ADMIN),
+            row(7L, "bob", Role.RoleName.USER)));
+        when(reactiveUserRepository.findRoleRowsPage(7L, 2)).thenReturn(Flux.just(row(9L, "carol", null)));
+
+        // When
+        UserPage first = service.findUserPage(null, null).block();
+        UserPage last = service.findUserPage(first.nextCursor(), null).block();
+
+        // Then
+        assertEquals(List.of(3L, 7L), first.items().stream().map(UserSnapshot::id).toList());
+        assertEquals(List.of(9L), last.items().stream().map(UserSnapshot::id).toList());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void updateOfMissingUserSignalsNotFound() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsById(42L)).thenReturn(Flux.empty());
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> service.updateUser(42L, new UserUpdateRequest()).block());
+        verify(reactiveUserRepository, never()).updateProfile(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateEvictsCachedSnapshotAndPublishesChange() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsById(1L)).thenReturn(Flux.just(row(1L, "testuser", Role.RoleName.USER)));
+        when(reactiveUserRepository.updateProfile(1L, "New", "Name", "new@example.com", null)).thenReturn(Mono.just(1L));
+        principalCache.put(UserSnapshot.fromRows(List.of(row(1L, "testuser", Role.RoleName.USER))).orElseThrow());
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setFirstName("New");
+        update.setLastName("Name");
+        update.setEmail("new@example.com");
+
+        // When
+        UserSnapshot result = service.updateUser(1L, update).block();
+
+        // Then
+        assertNotNull(result);
+        verify(reactiveUserRepository, times(2)).findRoleRowsById(1L);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser"));
+        verify(auditLog).record(AuditEvent.Type.UPDATED, 1L, "testuser", null);
+    }
+
+    @Test
+    void updateWithoutEnabledKeepsDisabledUserDisabled() {
+        // Given
+        UserRoleRow disabled = row(1L, "testuser", Role.RoleName.USER, false);
+        when(reactiveUserRepository.findRoleRowsById(1L)).thenReturn(Flux.just(disabled));
+        when(reactiveUserRepository.updateProfile(1L, "New", null, "new@example.com", null)).thenReturn(Mono.just(1L));
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setFirstName("New");
+        update.setEmail("new@example.com");
+
+        // When
+        UserSnapshot result = service.updateUser(1L, update).block();
+
+        // Then
+        assertFalse(result.enabled());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser", false));
+        verifyNoInteractions(revocationStore);
+    }
+
+    @Test
+    void disablingRevokesTokensWithoutWaitingForCommitEvent() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsById(1L)).thenReturn(Flux.just(row(1L, "testuser", Role.RoleName.USER)));
+        when(reactiveUserRepository.updateProfile(1L, null, null, "testuser@example.com", false))
+            .thenReturn(Mono.just(1L));
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setEmail("testuser@example.com");
+        update.setEnabled(false);
+
+        // When
+        service.updateUser(1L, update).block();
+
+        // Then
+        verify(revocationStore).revoke(1L);
+        verify(cacheEvictor).evict(1L);
+        verify(searchIndex, timeout(5_000)).changed(1L);
+    }
+
+    @Test
+    void searchIndexRefreshRunsOnRequestExecutor() throws Exception {
+        // Given
+        when(reactiveUserRepository.updatePasswordHash(1L, "hash", "newHash")).thenReturn(Mono.just(1L));
+        CompletableFuture<Thread> refreshThread = new CompletableFuture<>();
+        doAnswer(invocation -> refreshThread.complete(Thread.currentThread()))
+            .when(searchIndex).changed(1L);
+        UserSnapshot user = UserSnapshot.fromRows(List.of(row(1L, "testuser", Role.RoleName.USER))).orElseThrow();
+
+        // When
+        service.replacePasswordHash(user, "newHash").block();
+
+        // Then
+        assertNotSame(Thread.currentThread(), refreshThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deleteRevokesTokensOnceTransactionCompletes() {
+        // Given
+        when(reactiveUserRepository.findRoleRowsById(1L)).thenReturn(Flux.just(row(1L, "testuser", Role.RoleName.USER)));
+        when(transactionOperations.withTransaction(any())).thenReturn(Flux.just(1L, 1L));
+
+        // When
+        service.deleteUser(1L).block();
+
+        // Then
+        verify(revocationStore).revoke(1L);
+        verify(replicaRouting).recordWrite(1L, "testuser");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, "testuser", true));
+        verify(cacheEvictor).evict(1L);
+        verify(auditLog).record(AuditEvent.Type.DELETED, 1L, "testuser", null);
+    }
+
+    private static UserRoleRow row(Long id, String username, Role.RoleName roleName) {
+        return row(id, username, roleName, true);
+    }
+
+    private static UserRoleRow row(Long id, String username, Role.RoleName roleName, boolean enabled) {
+        return new UserRoleRow(id, username, username + "@example.com", "First", "Last", enabled,
+            LocalDateTime.of(2024, 1, 1, 0, 0), "hash", roleName);
+    }
+}
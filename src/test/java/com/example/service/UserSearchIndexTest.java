@@ -0,0 +1,222 @@
+package com.example.service;
+
+import com.example.datasource.ReadReplicaConfiguration;
+import com.example.datasource.ReplicaRouting;
+import com.example.dto.UserSnapshot;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.data.model.Pageable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserSnapshotLoader snapshotLoader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaRouting replicaRouting = new ReplicaRouting(new ReadReplicaConfiguration(), meterRegistry);
+
+    @Test
+    void prefixSearchIsCaseInsensitiveAndPagesInKeyOrder() {
+        // Given
+        UserSearchIndex index = built(List.of(
+            user(1L, "alice", "Smith", true, Role.RoleName.USER),
+            user(2L, "Alan", "Jones", true, Role.RoleName.USER),
+            user(3L, "albert", "Smyth", true, Role.RoleName.USER),
+            user(4L, "bob", "Smith", true, Role.RoleName.USER)));
+        UserSearchQuery query = new UserSearchQuery(UserSearchField.USERNAME, "AL", null, null);
+
+        // When
+        List<UserSearchIndex.Hit> first = index.search(query, null, 2);
+        UserSearchIndex.Hit last = first.get(first.size() - 1);
+        List<UserSearchIndex.Hit> second = index.search(query, new PageCursor.Key(last.value(), last.id()), 2);
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(first));
+        assertEquals(List.of(1L), ids(second));
+        assertEquals(4.0, meterRegistry.get("user.search.index.size").gauge().value());
+    }
+
+    @Test
+    void equalValuesAreOrderedById() {
+        // Given
+        UserSearchIndex index = built(List.of(
+            user(7L, "smith7", "Smith", true, Role.RoleName.USER),
+            user(3L, "smith3", "Smith", true, Role.RoleName.USER),
+            user(5L, "smith5", "Smith", true, Role.RoleName.USER)));
+        UserSearchQuery query = new UserSearchQuery(UserSearchField.LAST_NAME, "smi", null, null);
+
+        // When
+        List<UserSearchIndex.Hit> first = index.search(query, null, 1);
+        List<UserSearchIndex.Hit> rest = index.search(query, new PageCursor.Key("Smith", first.get(0).id()), 10);
+
+        // Then
+        assertEquals(List.of(3L), ids(first));
+        assertEquals(List.of(5L, 7L), ids(rest));
+    }
+
+    @Test
+    void roleAndEnabledFiltersNarrowMatches() {
+        // Given
+        UserSearchIndex index = built(List.of(
+            user(1L, "admin1", "A", true, Role.RoleName.ADMIN),
+            user(2L, "admin2", "A", false, Role.RoleName.ADMIN),
+            user(3L, "admin3", "A", true, Role.RoleName.USER)));
+
+        // When
+        List<UserSearchIndex.Hit> enabledAdmins = index.search(
+            new UserSearchQuery(UserSearchField.USERNAME, "admin", Role.RoleName.ADMIN, true), null, 10);
+        List<UserSearchIndex.Hit> disabled = index.search(
+            new UserSearchQuery(UserSearchField.USERNAME, "", null, false), null, 10);
+
+        // Then
+        assertEquals(List.of(1L), ids(enabledAdmins));
+        assertEquals(List.of(2L), ids(disabled));
+    }
+
+    @Test
+    void changeEventsReindexAndRemoveUsers() {
+        // Given
+        UserSearchIndex index = built(List.of(
+            user(1L, "alice", "Smith", true, Role.RoleName.USER),
+            user(2L, "bob", "Brown", true, Role.RoleName.USER)));
+        when(snapshotLoader.findById(1L)).thenReturn(Optional.of(
+            snapshot(1L, "alice", "Walker", true, Role.RoleName.USER)));
+        when(snapshotLoader.findById(2L)).thenReturn(Optional.empty());
+
+        // When
+        index.onUserChanged(new UserChangedEvent(1L, "alice"));
+        index.onUserChanged(new UserChangedEvent(2L, null, true));
+
+        // Then
+        assertTrue(index.search(new UserSearchQuery(UserSearchField.LAST_NAME, "smi", null, null), null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search(new UserSearchQuery(UserSearchField.LAST_NAME, "walk", null, null), null, 10)));
+        assertTrue(index.search(new UserSearchQuery(UserSearchField.USERNAME, "bob", null, null), null, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void changedUserIsReadFromThePrimary() {
+        // Given
+        UserSearchIndex index = built(List.of(user(1L, "alice", "Smith", true, Role.RoleName.USER)));
+        List<ReplicaRouting.Route> routes = new ArrayList<>();
+        when(snapshotLoader.findById(1L)).thenAnswer(invocation -> {
+            routes.add(replicaRouting.current());
+            return Optional.of(snapshot(1L, "alice", "Walker", true, Role.RoleName.USER));
+        });
+
+        // When
+        index.changed(1L);
+
+        // Then
+        assertEquals(List.of(ReplicaRouting.Route.PRIMARY), routes);
+        assertNull(replicaRouting.current());
+        assertEquals(List.of(1L), ids(index.search(new UserSearchQuery(UserSearchField.LAST_NAME, "walk", null, null), null, 10)));
+    }
+
+    @Test
+    void slowerRefreshOfEarlierChangeDoesNotOverwriteLaterOne() throws Exception {
+        // Given: the first refresh reads the old row, then stalls until the second has applied
+        UserSearchIndex index = built(List.of(user(1L, "alice", "Smith", true, Role.RoleName.USER)));
+        CountDownLatch firstRead = new CountDownLatch(1);
+        CountDownLatch secondApplied = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        when(snapshotLoader.findById(1L)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 1) {
+                firstRead.countDown();
+                assertTrue(secondApplied.await(5, TimeUnit.SECONDS));
+                return Optional.of(snapshot(1L, "alice", "Jones", true, Role.RoleName.USER));
+            }
+            return Optional.of(snapshot(1L, "alice", "Walker", true, Role.RoleName.USER));
+        });
+        Thread first = new Thread(() -> index.changed(1L));
+        first.start();
+        assertTrue(firstRead.await(5, TimeUnit.SECONDS));
+
+        // When
+        index.changed(1L);
+        secondApplied.countDown();
+        first.join(5_000);
+
+        // Then
+        assertEquals(List.of(1L), ids(index.search(new UserSearchQuery(UserSearchField.LAST_NAME, "walk", null, null), null, 10)));
+        assertTrue(index.search(new UserSearchQuery(UserSearchField.LAST_NAME, "jon", null, null), null, 10).isEmpty());
+    }
+
+    @Test
+    void disabledIndexIsNeverBuilt() {
+        // Given
+        UserSearchIndex index = new UserSearchIndex(new UserSearchConfiguration(), userRepository, snapshotLoader,
+            replicaRouting, meterRegistry);
+
+        // When
+        index.rebuild();
+        index.onUserChanged(new UserChangedEvent(1L, "alice"));
+
+        // Then
+        assertFalse(index.isReady());
+        verifyNoInteractions(userRepository, snapshotLoader);
+    }
+
+    private UserSearchIndex built(List<User> users) {
+        UserSearchConfiguration configuration = new UserSearchConfiguration();
+        configuration.setInMemoryIndex(true);
+        configuration.setRebuildBatchSize(2);
+        List<Long> ids = users.stream().map(User::getId).sorted().toList();
+        when(userRepository.findIdByIdGreaterThanOrderById(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return ids.stream().filter(id -> id > afterId).limit(2).toList();
+        });
+        when(userRepository.findByIdInOrderById(anyCollection())).thenAnswer(invocation -> {
+            List<Long> page = new ArrayList<>(invocation.getArgument(0));
+            return users.stream().filter(user -> page.contains(user.getId())).toList();
+        });
+        UserSearchIndex index = new UserSearchIndex(configuration, userRepository, snapshotLoader, replicaRouting,
+            meterRegistry);
+        index.rebuild();
+        assertTrue(index.isReady());
+        return index;
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Hit> hits) {
+        return hits.stream().map(UserSearchIndex.Hit::id).toList();
+    }
+
+    private static User user(Long id, String username, String lastName, boolean enabled, Role.RoleName roleName) {
+        User user = new User(username, username + "@example.com", "hash");
+        user.setId(id);
+        user.setFirstName("First");
+        user.setLastName(lastName);
+        user.setEnabled(enabled);
+        user.setRoles(Set.of(new Role(roleName, roleName.name())));
+        return user;
+    }
+
+    private static UserSnapshot snapshot(Long id, String username, String lastName, boolean enabled,
+                                         Role.RoleName roleName) {
+        return new UserSnapshot(id, username, username + "@example.com", "First", lastName, enabled,
+            LocalDateTime.of(2024, 1, 1, 0, 0), Set.of(roleName), "hash");
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.service;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserSnapshot;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repository.UserSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceTest {
+
+    private static final UserSearchQuery QUERY = new UserSearchQuery(UserSearchField.EMAIL, "ali", null, null);
+
+    @Mock
+    private UserSearchRepository searchRepository;
+
+    @Mock
+    private UserSearchIndex searchIndex;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExecutorService requestExecutor;
+
+    private UserPrincipalCache principalCache;
+    private UserSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new UserPrincipalCache(new UserCacheConfiguration());
+        searchService = new UserSearchService(searchRepository, searchIndex, principalCache, userService,
+            requestExecutor);
+    }
+
+    @Test
+    void databaseSearchContinuesAfterLastValueAndId() {
+        // Given
+        when(userService.pageSize(2)).thenReturn(2);
+        when(searchRepository.search(QUERY, null, 2)).thenReturn(List.of(user(5L, "alice"), user(3L, "alina")));
+        when(searchRepository.search(eq(QUERY), any(PageCursor.Key.class), eq(2))).thenReturn(List.of(user(9L, "alix")));
+
+        // When
+        UserPage first = searchService.find(QUERY, null, 2);
+        UserPage second = searchService.find(QUERY, first.nextCursor(), 2);
+
+        // Then
+        assertEquals(List.of(5L, 3L), first.items().stream().map(UserSnapshot::id).toList());
+        assertEquals(new PageCursor.Key("alina@example.com", 3L), PageCursor.decodeKey(first.nextCursor()));
+        verify(searchRepository).search(QUERY, new PageCursor.Key("alina@example.com", 3L), 2);
+        assertEquals(1, second.items().size());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void indexHitsComeFromCacheWithMissesLoadedInOneQuery() {
+        // Given
+        when(userService.pageSize(2)).thenReturn(2);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(QUERY, null, 2)).thenReturn(List.of(
+            new UserSearchIndex.Hit(5L, "alice@example.com"), new UserSearchIndex.Hit(3L, "alina@example.com")));
+        principalCache.put(UserSnapshot.of(user(5L, "alice")));
+        when(searchRepository.findByIds(List.of(3L))).thenReturn(List.of(user(3L, "alina")));
+
+        // When
+        UserPage page = searchService.find(QUERY, null, 2);
+
+        // Then
+        assertEquals(List.of(5L, 3L), page.items().stream().map(UserSnapshot::id).toList());
+        assertEquals(new PageCursor.Key("alina@example.com", 3L), PageCursor.decodeKey(page.nextCursor()));
+        assertTrue(principalCache.getIfPresent(3L).isPresent());
+        verify(searchRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void deletedIndexHitIsSkippedButCursorAdvances() {
+        // Given
+        when(userService.pageSize(2)).thenReturn(2);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(QUERY, null, 2)).thenReturn(List.of(
+            new UserSearchIndex.Hit(5L, "alice@example.com"), new UserSearchIndex.Hit(3L, "alina@example.com")));
+        when(searchRepository.findByIds(List.of(5L, 3L))).thenReturn(List.of(user(5L, "alice")));
+
+        // When
+        UserPage page = searchService.find(QUERY, null, 2);
+
+        // Then
+        assertEquals(1, page.items().size());
+        assertEquals(new PageCursor.Key("alina@example.com", 3L), PageCursor.decodeKey(page.nextCursor()));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> searchService.find(QUERY, PageCursor.encode(7L), 2));
+        assertThrows(IllegalArgumentException.class, () -> searchService.find(QUERY, "not-a-cursor", 2));
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, username + "@example.com", "hash");
+        user.setId(id);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        user.setRoles(Set.of(new Role(Role.RoleName.USER, "User")));
+        return user;
+    }
+}